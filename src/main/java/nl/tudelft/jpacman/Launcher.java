@@ -4,12 +4,16 @@ import java.awt.event.KeyEvent;
 import java.io.IOException;
 import java.sql.Time;
 import java.util.List;
+import java.util.SplittableRandom;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import nl.tudelft.jpacman.board.BoardFactory;
 import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.clock.GameClock;
+import nl.tudelft.jpacman.clock.RealTimeClock;
+import nl.tudelft.jpacman.event.EventBus;
 import nl.tudelft.jpacman.game.Game;
 import nl.tudelft.jpacman.game.GameFactory;
 import nl.tudelft.jpacman.level.Level;
@@ -32,7 +36,7 @@ import nl.tudelft.jpacman.ui.PlayerController;
 @SuppressWarnings("PMD.TooManyMethods")
 public class Launcher {
 
-    private static final PacManSprites SPRITE_STORE = new PacManSprites();
+    private static final PacManSprites SPRITE_STORE = PacManSprites.getShared();
 
     public static final String DEFAULT_MAP = "/board.txt";
     public static final String REVISITED_MAP = "/board2.txt";
@@ -41,6 +45,28 @@ public class Launcher {
     private PacManUI pacManUI;
     private Game game;
 
+    /**
+     * The clock of the game, or <code>null</code> to let every level use the
+     * wall clock on its own thread.
+     */
+    private GameClock clock;
+
+    /**
+     * The sprites animating with {@link #clock}, if it is set.
+     */
+    private PacManSprites clockSprites;
+
+    /**
+     * The seed of the random choices of the game, or <code>null</code>.
+     */
+    private Long seed;
+
+    /**
+     * The bus receiving the events of the levels made, or <code>null</code>
+     * before the first one is made.
+     */
+    private EventBus eventBus;
+
     /**
      * Controller of the player by
      * BOOSO Sam
@@ -99,18 +125,32 @@ public class Launcher {
     /**
      * Creates a new level. By default this method will use the map parser to
      * parse the default board stored in the <code>board.txt</code> resource.
+     * The level publishes its events to {@link #getEventBus()}.
      *
      * @return A new level.
      */
     public Level makeLevel() {
         try {
-            return getMapParser().parseMap(getLevelMap());
+            Level level = getMapParser().parseMap(getLevelMap());
+            level.setEventBus(getEventBus());
+            return level;
         } catch (IOException e) {
             throw new PacmanConfigurationException(
                     "Unable to create level, name = " + getLevelMap(), e);
         }
     }
 
+    /**
+     * @return The bus the levels of this launcher publish their events to,
+     *         for the UI, metrics and recordings to subscribe to.
+     */
+    public EventBus getEventBus() {
+        if (eventBus == null) {
+            eventBus = new EventBus();
+        }
+        return eventBus;
+    }
+
     /**
      * @return A new map parser object using the factories from
      *         {@link #getLevelFactory()} and {@link #getBoardFactory()}.
@@ -131,7 +171,48 @@ public class Launcher {
      * @return The default {@link PacManSprites}.
      */
     protected PacManSprites getSpriteStore() {
-        return SPRITE_STORE;
+        if (clock == null) {
+            return SPRITE_STORE;
+        }
+        if (clockSprites == null) {
+            clockSprites = new PacManSprites(clock);
+        }
+        return clockSprites;
+    }
+
+    /**
+     * Sets the clock the game will run on, for example a
+     * {@link nl.tudelft.jpacman.clock.VirtualClock} to simulate it faster
+     * than real time.
+     *
+     * @param gameClock
+     *            The clock of the game.
+     * @return The launcher, for chaining.
+     */
+    public Launcher withClock(GameClock gameClock) {
+        this.clock = gameClock;
+        this.clockSprites = null;
+        return this;
+    }
+
+    /**
+     * Seeds all random choices of the game, to make it reproducible.
+     *
+     * @param randomSeed
+     *            The seed.
+     * @return The launcher, for chaining.
+     */
+    public Launcher withSeed(long randomSeed) {
+        this.seed = randomSeed;
+        return this;
+    }
+
+    /**
+     * @return The clock set with {@link #withClock(GameClock)}, or the wall
+     *         clock if none was set.
+     */
+    public GameClock getClock() {
+        return clock == null ? RealTimeClock.system() : clock;
     }
 
     /**
@@ -139,7 +220,8 @@ public class Launcher {
      *         and the ghosts from {@link #getGhostFactory()}.
      */
     protected LevelFactory getLevelFactory() {
-        return new LevelFactory(getSpriteStore(), getGhostFactory());
+        SplittableRandom random = seed == null ? null : new SplittableRandom(seed);
+        return new LevelFactory(getSpriteStore(), getGhostFactory(), clock, random);
     }
 
     /**
@@ -226,13 +308,16 @@ public class Launcher {
         PacManUiBuilder builder = new PacManUiBuilder().withDefaultButtons();
         addSinglePlayerKeysContiniousMovements(builder);
         pacManUI = builder.build(getGame());
-        playerController = new PlayerController(getGame(), getSinglePlayer(getGame()));
+        playerController = clock == null
+            ? new PlayerController(getGame(), getSinglePlayer(getGame()))
+            : new PlayerController(getGame(), getSinglePlayer(getGame()), clock);
         pacManUI.start();
         playerController.startMoving();
     }
 
     /**
-     * Disposes of the UI. For more information see
+     * Disposes of the UI and stops the subscribers of the event bus. For more
+     * information see
      * {@link javax.swing.JFrame#dispose()}.
      *
      * Precondition: The game was launched first.
@@ -240,6 +325,9 @@ public class Launcher {
     public void dispose() {
         assert pacManUI != null;
         pacManUI.dispose();
+        if (eventBus != null) {
+            eventBus.close();
+        }
     }
 
     /**
@@ -6,9 +6,8 @@ import nl.tudelft.jpacman.level.Player;
 import nl.tudelft.jpacman.level.PlayerFactory;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Queue;
+import java.util.Arrays;
+import java.util.function.IntPredicate;
 
 /**
  * A top-down view of a matrix of {@link Square}s.
@@ -22,6 +21,12 @@ public class Board {
      */
     private final Square[][] board;
 
+    /**
+     * The objects told about every change of a square, replaced as a whole
+     * when one is added or removed, so telling them takes no lock.
+     */
+    private volatile SquareObserver[] observers = new SquareObserver[0];
+
     /**
      * Creates a new board.
      *
@@ -34,6 +39,11 @@ public class Board {
         assert grid != null;
         this.board = grid;
         assert invariant() : "Initial grid cannot contain null squares";
+        for (int x = 0; x < grid.length; x++) {
+            for (int y = 0; y < grid[x].length; y++) {
+                grid[x][y].setPosition(this, x, y);
+            }
+        }
     }
 
     /**
@@ -102,79 +112,110 @@ public class Board {
     }
 
     /**
-     * Check if the grid is well done. It means that all way of the map is accessible.
+     * Adds an observer that will be told about every change of a square of
+     * this board (see {@link Square#markDirty()}).
+     *
+     * @param observer
+     *            The observer that will be notified.
      */
-    public void checkGrid(){
-        Player player = new PlayerFactory(null).createTestPacMand();
-        Square first = getFirstAccessibleSquare(player);
-
-        List<Square> explored = explore(first, player);
+    public synchronized void addObserver(SquareObserver observer) {
+        SquareObserver[] added = Arrays.copyOf(observers, observers.length + 1);
+        added[observers.length] = observer;
+        observers = added;
+    }
 
-        for(Square[] squaresLine : this.board){
-            for(Square square : squaresLine){
-                if(square.isAccessibleTo(player)){
-                    if(!explored.contains(square)){
-                        throw new PacmanConfigurationException("All squares of the board are not accessible by PacMan !");
-                    }
-                }
+    /**
+     * Removes an observer if it was listed.
+     *
+     * @param observer
+     *            The observer to be removed.
+     */
+    public synchronized void removeObserver(SquareObserver observer) {
+        SquareObserver[] remaining = new SquareObserver[observers.length];
+        int count = 0;
+        for (SquareObserver listed : observers) {
+            if (listed != observer) {
+                remaining[count++] = listed;
             }
         }
+        observers = Arrays.copyOf(remaining, count);
     }
 
     /**
+     * Tells the observers that a square of this board changed.
      *
-     * @param first the first square to explore.
-     * @param unit the unit which explores.
-     * @return a list of Square explored.
+     * @param square
+     *            The square that changed.
      */
-    private List<Square> explore(Square first, Unit unit){
-        List<Square> explored = new LinkedList<Square>();
-        Queue<Square> toExplore = new LinkedList<Square>();
-
-        do{
-            explored.add(first);
-            toExplore.addAll(nextSquares(first, unit, explored));
-            first = toExplore.poll();
-        }while(first != null);
-
-        return explored;
+    void squareChanged(Square square) {
+        SquareObserver[] listed = observers;
+        for (int i = 0; i < listed.length; i++) {
+            listed[i].squareChanged(square);
+        }
     }
 
     /**
+     * Check if the grid is well done. It means that all way of the map is accessible.
      *
-     * @param square the square where the unit is.
-     * @param unit the unit which moves.
-     * @param except restriction list of squares.
-     * @return the list of square that this unit can go.
+     * @throws PacmanConfigurationException If a square accessible to PacMan
+     *             cannot be reached from the others.
      */
-    private List<Square> nextSquares(Square square, Unit unit, List<Square> except){
-        List<Square> squares = new LinkedList<Square>();
-
-        for (Direction direction : Direction.values()){
-            Square nextSquare = square.getSquareAt(direction);
-            boolean isAccessible = nextSquare == null ? false : nextSquare.isAccessibleTo(unit);
-
-            if(isAccessible && !except.contains(nextSquare)){
-                squares.add(nextSquare);
-            }
+    public void checkGrid(){
+        Player player = PlayerFactory.createSpritelessPacMan();
+        int width = getWidth();
+        if (!isConnected(width, getHeight(),
+            index -> board[index % width][index / width].isAccessibleTo(player))) {
+            throw new PacmanConfigurationException("All squares of the board are not accessible by PacMan !");
         }
-
-        return squares;
     }
 
     /**
+     * Checks whether all open squares of a grid can be reached from each
+     * other, moving in the four directions and wrapping around the edges as
+     * the squares of a board are linked.
      *
-     * @return the first square which is accessible.
+     * @param width
+     *            The number of columns.
+     * @param height
+     *            The number of rows.
+     * @param open
+     *            Tells whether the square at <code>y * width + x</code> can
+     *            be moved onto.
+     * @return <code>true</code> iff there is an open square and every open
+     *         square can be reached from the first one.
      */
-    private Square getFirstAccessibleSquare(Unit unit){
-        for(Square[] squareLine : this.board){
-            for(Square square : squareLine){
-                if(square.isAccessibleTo(unit)){
-                    return square;
+    public static boolean isConnected(int width, int height, IntPredicate open) {
+        int size = width * height;
+        // walls, and squares already queued, are not queued (again)
+        boolean[] blocked = new boolean[size];
+        int[] queue = new int[size];
+        int openCount = 0;
+        int count = 0;
+        for (int index = 0; index < size; index++) {
+            if (!open.test(index)) {
+                blocked[index] = true;
+            } else if (openCount++ == 0) {
+                blocked[index] = true;
+                queue[count++] = index;
+            }
+        }
+        for (int head = 0; head < count; head++) {
+            int x = queue[head] % width;
+            int y = queue[head] / width;
+            int[] neighbours = {
+                (y + height - 1) % height * width + x,
+                (y + 1) % height * width + x,
+                y * width + (x + width - 1) % width,
+                y * width + (x + 1) % width
+            };
+            for (int neighbour : neighbours) {
+                if (!blocked[neighbour]) {
+                    blocked[neighbour] = true;
+                    queue[count++] = neighbour;
                 }
             }
         }
-        return null;
+        return count > 0 && count == openCount;
     }
 
     public ArrayList<Square> getFreeOccupantSquares(){
@@ -197,4 +238,19 @@ public class Board {
         return frees;
     }
 
+
+    /**
+     * An observer that will be told about every change of a square of a
+     * board, on the thread making the change.
+     */
+    public interface SquareObserver {
+
+        /**
+         * A square changed and has to be drawn again.
+         *
+         * @param square
+         *            The square that changed.
+         */
+        void squareChanged(Square square);
+    }
 }
@@ -0,0 +1,56 @@
+package nl.tudelft.jpacman.board;
+
+import java.util.Arrays;
+
+/**
+ * Remembers, for one renderer, the modification count (see
+ * {@link Square#getModificationCount()}) of every square of a board as it
+ * was last drawn. Squares are never marked clean, so any number of
+ * renderers can show the same board, each keeping a tracker of its own.
+ * <p>
+ * A tracker is used by one thread at a time.
+ */
+public class ChangeTracker {
+
+    /**
+     * The count remembered for squares that were not looked at yet.
+     */
+    private static final int UNSEEN = -1;
+
+    /**
+     * The board the counts are remembered for.
+     */
+    private Board board;
+
+    /**
+     * The count of every square as last looked at, column by column.
+     */
+    private int[] seen = new int[0];
+
+    /**
+     * Returns whether a square changed since it was last looked at, and
+     * remembers its current count. Every square of a board not looked at
+     * before counts as changed, as do all squares once another board is
+     * looked at.
+     *
+     * @param board
+     *            The board of the square.
+     * @param square
+     *            The square to look at.
+     * @return <code>true</code> iff the square has to be drawn again.
+     */
+    public boolean takeChange(Board board, Square square) {
+        if (board != this.board) {
+            this.board = board;
+            seen = new int[board.getWidth() * board.getHeight()];
+            Arrays.fill(seen, UNSEEN);
+        }
+        int index = square.getX() * board.getHeight() + square.getY();
+        int count = square.getModificationCount();
+        if (seen[index] == count) {
+            return false;
+        }
+        seen[index] = count;
+        return true;
+    }
+}
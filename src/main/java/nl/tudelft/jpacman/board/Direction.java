@@ -1,9 +1,6 @@
 package nl.tudelft.jpacman.board;
 
-import com.google.common.collect.Lists;
-
-import java.util.ArrayList;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * An enumeration of possible directions on a two-dimensional square grid.
@@ -32,6 +29,11 @@ public enum Direction {
      */
     EAST(1, 0);
 
+    /**
+     * All directions, cached since {@link #values()} copies them.
+     */
+    private static final Direction[] VALUES = values();
+
     /**
      * The delta x (width difference) to an element in the direction in a grid
      * with 0,0 (x,y) as its top-left element.
@@ -84,10 +86,11 @@ public enum Direction {
     }
 
     /**
+     * @param random the stream to draw from, for reproducible choices
      * @return a random dir among 4 available
      */
-    public static Direction getRdmDir(){
-        return Lists.newArrayList(NORTH, SOUTH, EAST, WEST).get(new Random().nextInt(4));
+    public static Direction getRdmDir(SplittableRandom random){
+        return VALUES[random.nextInt(VALUES.length)];
     }
 
 }
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.common.collect.ImmutableList;
 
@@ -28,6 +29,28 @@ public abstract class Square {
      */
     private final Map<Direction, Square> neighbours;
 
+    /**
+     * The number of times this square changed since it was made, compared
+     * by every renderer with the count it last drew (see
+     * {@link ChangeTracker}).
+     */
+    private final AtomicInteger modifications = new AtomicInteger();
+
+    /**
+     * The board this square is on, or <code>null</code> if it is not on one.
+     */
+    private Board board;
+
+    /**
+     * The column of this square on its board, or -1 if it is not on one.
+     */
+    private int x = -1;
+
+    /**
+     * The row of this square on its board, or -1 if it is not on one.
+     */
+    private int y = -1;
+
     /**
      * Creates a new, empty square.
      */
@@ -37,6 +60,38 @@ public abstract class Square {
         assert invariant();
     }
 
+    /**
+     * @return The column (x position) of this square on its board, or -1 if
+     *         it is not on a board.
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * @return The row (y position) of this square on its board, or -1 if it
+     *         is not on a board.
+     */
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * Records the position of this square on its board.
+     *
+     * @param owner
+     *            The board this square is on.
+     * @param column
+     *            The column of this square.
+     * @param row
+     *            The row of this square.
+     */
+    void setPosition(Board owner, int column, int row) {
+        this.board = owner;
+        this.x = column;
+        this.y = row;
+    }
+
     /**
      * Returns the square adjacent to this square.
      *
@@ -77,16 +132,41 @@ public abstract class Square {
      * @return the list of occupants ordered with special boxes in first (as collisions should handle bridges first)
      */
     public List<Unit> getOrderedOccupants(){
-        ArrayList<Unit> boxes = new ArrayList<>();
-        ArrayList<Unit> others = new ArrayList<>();
-        for(Unit unit: this.occupants){
+        List<Unit> ordered = new ArrayList<>(this.occupants.size());
+        collectOrderedOccupants(ordered);
+        return ordered;
+    }
+
+    /**
+     * Fills a list with the occupants ordered as by {@link #getOrderedOccupants()}, without allocating anything
+     * once the list is large enough.
+     * @param target the list to clear and fill
+     */
+    public void collectOrderedOccupants(List<Unit> target){
+        target.clear();
+        for (int i = 0; i < this.occupants.size(); i++) {
+            Unit unit = this.occupants.get(i);
             if (unit instanceof SpecialBox)
-                boxes.add(unit);
-            else
-                others.add(unit);
+                target.add(unit);
+        }
+        for (int i = 0; i < this.occupants.size(); i++) {
+            Unit unit = this.occupants.get(i);
+            if (!(unit instanceof SpecialBox))
+                target.add(unit);
         }
-        boxes.addAll(others);
-        return boxes;
+    }
+
+    /**
+     * @param type the type of units to count
+     * @return the number of occupants of this square of the given type
+     */
+    public int countOccupants(Class<? extends Unit> type){
+        int count = 0;
+        for (int i = 0; i < this.occupants.size(); i++) {
+            if (type.isInstance(this.occupants.get(i)))
+                count++;
+        }
+        return count;
     }
 
     /**
@@ -129,6 +209,15 @@ public abstract class Square {
         assert !occupants.contains(occupant);
 
         occupants.add(occupant);
+        markDirty();
+    }
+
+    /**
+     * @param unit the unit to look for
+     * @return <code>true</code> iff the unit occupies this square
+     */
+    boolean hasOccupant(Unit unit) {
+        return occupants.contains(unit);
     }
 
     /**
@@ -139,7 +228,33 @@ public abstract class Square {
      */
     void remove(Unit occupant) {
         assert occupant != null;
-        occupants.remove(occupant);
+        if (occupants.remove(occupant)) {
+            markDirty();
+        }
+    }
+
+    /**
+     * Counts a change of this square, so renderers draw it again, for
+     * example because the sprite of one of its occupants changed, and tells
+     * the observers of its board. Changes are counted automatically when
+     * units enter or leave a square.
+     */
+    public void markDirty() {
+        modifications.incrementAndGet();
+        if (board != null) {
+            board.squareChanged(this);
+        }
+    }
+
+    /**
+     * Returns the number of times this square changed. A renderer reads it
+     * before drawing the square, so changes made while it draws are picked
+     * up the next time, and keeps the count it drew to compare with later.
+     *
+     * @return The number of changes since this square was made.
+     */
+    public int getModificationCount() {
+        return modifications.get();
     }
 
     /**
@@ -168,7 +283,8 @@ public abstract class Square {
     public abstract boolean isAccessibleTo(Unit unit);
 
     public boolean canLeaveByDirection(Unit unit, Direction intendedDir){
-        for (Unit b: this.occupants){
+        for (int i = 0; i < this.occupants.size(); i++){
+            Unit b = this.occupants.get(i);
             if (b instanceof BridgeBox){
                 BridgeBox bridge = (BridgeBox) b;
                 BridgeBox.Align alignUnit = bridge.getAlignForLevel(unit);
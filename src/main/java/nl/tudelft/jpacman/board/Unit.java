@@ -36,6 +36,23 @@ public abstract class Unit {
      */
     private boolean isMovable;
 
+    /**
+     * The square this unit left in its last move, or <code>null</code> if it
+     * was placed on its square without moving.
+     */
+    private Square previousSquare;
+
+    /**
+     * The time its last move is expected to take in milliseconds.
+     */
+    private long moveDuration;
+
+    /**
+     * The clock time at which its last move started, written last so a
+     * renderer reading it first sees the other fields of that move.
+     */
+    private volatile long moveStart;
+
     /**
      * Creates a unit that is facing east.
      */
@@ -50,7 +67,20 @@ public abstract class Unit {
      * @param newDirection The new direction this unit is facing.
      */
     public void setDirection(Direction newDirection) {
-        this.direction = newDirection;
+        if (this.direction != newDirection) {
+            this.direction = newDirection;
+            markDirty();
+        }
+    }
+
+    /**
+     * Marks the square of this unit to be drawn again, for changes of its
+     * sprite that do not involve moving.
+     */
+    protected void markDirty() {
+        if (square != null) {
+            square.markDirty();
+        }
     }
 
     /**
@@ -128,10 +158,56 @@ public abstract class Unit {
             square.remove(this);
         }
         square = target;
+        previousSquare = null;
         target.put(this);
         assert invariant();
     }
 
+    /**
+     * Records that this unit just moved onto its square from a neighbouring
+     * one, so it can be drawn moving between the two.
+     *
+     * @param from
+     *            The square this unit left.
+     * @param startMillis
+     *            The clock time at which the move started.
+     */
+    public void recordMove(Square from, long startMillis) {
+        previousSquare = from;
+        moveDuration = getMoveTime();
+        moveStart = startMillis;
+    }
+
+    /**
+     * @return The time in milliseconds a move of this unit takes, used to
+     *         draw it moving. Zero means it jumps from square to square.
+     */
+    protected long getMoveTime() {
+        return 0L;
+    }
+
+    /**
+     * @return The square this unit left in its last move, or
+     *         <code>null</code> if it was placed on its square.
+     */
+    public Square getPreviousSquare() {
+        return previousSquare;
+    }
+
+    /**
+     * @return The clock time at which the last move of this unit started.
+     */
+    public long getMoveStart() {
+        return moveStart;
+    }
+
+    /**
+     * @return The time in milliseconds the last move of this unit takes.
+     */
+    public long getMoveDuration() {
+        return moveDuration;
+    }
+
     /**
      * Leaves the currently occupying square, thus removing this unit from the board.
      */
@@ -152,7 +228,7 @@ public abstract class Unit {
      *         not occupying any square.
      */
     protected boolean invariant() {
-        return square == null || square.getOccupants().contains(this);
+        return square == null || square.hasOccupant(this);
     }
 
     /**
@@ -0,0 +1,75 @@
+package nl.tudelft.jpacman.clock;
+
+/**
+ * A clock on top of another clock whose time is sampled once per rendered
+ * frame, so everything drawn in a frame sees the same time and reading it
+ * costs no more than reading a field. Animations read this clock on every
+ * draw; the renderer calls {@link #startFrame()} before drawing.
+ * <p>
+ * Until the first frame is started the time of the underlying clock is
+ * passed through, so animations that are never rendered still follow it.
+ * Tasks are scheduled on the underlying clock.
+ */
+public class FrameClock implements GameClock {
+
+    /**
+     * The time read before the first frame is started.
+     */
+    private static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    /**
+     * The frame clock on top of the system clock, sampled by all renderers.
+     */
+    private static final FrameClock SYSTEM = new FrameClock(RealTimeClock.system());
+
+    /**
+     * The clock sampled for every frame.
+     */
+    private final GameClock base;
+
+    /**
+     * The time of the current frame, or {@link #NOT_SAMPLED}.
+     */
+    private volatile long frameTime = NOT_SAMPLED;
+
+    /**
+     * Creates a new frame clock.
+     *
+     * @param base
+     *            The clock sampled for every frame.
+     */
+    public FrameClock(GameClock base) {
+        assert base != null;
+        this.base = base;
+    }
+
+    /**
+     * @return The frame clock on top of the system clock, animating the
+     *         sprites of stores that follow the wall clock and sampled by
+     *         every renderer.
+     */
+    public static FrameClock system() {
+        return SYSTEM;
+    }
+
+    /**
+     * Samples the underlying clock for the frame about to be rendered.
+     */
+    public void startFrame() {
+        frameTime = base.currentTimeMillis();
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        long time = frameTime;
+        if (time == NOT_SAMPLED) {
+            return base.currentTimeMillis();
+        }
+        return time;
+    }
+
+    @Override
+    public ScheduledTask schedule(Runnable task, long delayMillis) {
+        return base.schedule(task, delayMillis);
+    }
+}
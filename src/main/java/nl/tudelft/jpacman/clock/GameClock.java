@@ -0,0 +1,38 @@
+package nl.tudelft.jpacman.clock;
+
+/**
+ * The source of time for the game: it tells the current time and executes
+ * tasks after a delay. Implementations may follow the wall clock or a virtual
+ * time line that is advanced explicitly.
+ */
+public interface GameClock {
+
+    /**
+     * Returns the current time of this clock.
+     *
+     * @return The current time in milliseconds.
+     */
+    long currentTimeMillis();
+
+    /**
+     * Executes a task once after the given delay has passed on this clock.
+     *
+     * @param task
+     *            The task to execute.
+     * @param delayMillis
+     *            The delay in milliseconds.
+     * @return A handle to cancel the pending execution.
+     */
+    ScheduledTask schedule(Runnable task, long delayMillis);
+
+    /**
+     * A pending execution of a task on a clock.
+     */
+    interface ScheduledTask {
+
+        /**
+         * Cancels the execution of the task, if it did not start yet.
+         */
+        void cancel();
+    }
+}
@@ -0,0 +1,96 @@
+package nl.tudelft.jpacman.clock;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A clock following the wall clock, executing its tasks on a scheduled
+ * executor service.
+ */
+public class RealTimeClock implements GameClock {
+
+    /**
+     * The clock shared by components that only read the time.
+     */
+    private static final RealTimeClock SYSTEM = new RealTimeClock();
+
+    /**
+     * The service executing the tasks, lazily created if it is owned by
+     * this clock.
+     */
+    private ScheduledExecutorService executor;
+
+    /**
+     * <code>true</code> iff the executor was handed to this clock and should
+     * not be shut down by it.
+     */
+    private final boolean sharedExecutor;
+
+    /**
+     * Creates a new clock that executes its tasks on its own thread, which
+     * is started when the first task is scheduled.
+     */
+    public RealTimeClock() {
+        this(null);
+    }
+
+    /**
+     * Creates a new clock executing its tasks on the given service.
+     *
+     * @param executor
+     *            The service shared with other clocks, or <code>null</code>
+     *            to let this clock create its own one when needed.
+     */
+    public RealTimeClock(ScheduledExecutorService executor) {
+        this.executor = executor;
+        this.sharedExecutor = executor != null;
+    }
+
+    /**
+     * @return A clock shared by all components that do not need their own
+     *         one.
+     */
+    public static RealTimeClock system() {
+        return SYSTEM;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    public ScheduledTask schedule(Runnable task, long delayMillis) {
+        ScheduledFuture<?> future = getExecutor().schedule(task, delayMillis,
+            TimeUnit.MILLISECONDS);
+        return () -> future.cancel(false);
+    }
+
+    /**
+     * Shuts the executor down if it is owned by this clock. Scheduling a new
+     * task afterwards starts a new one.
+     */
+    public synchronized void shutdown() {
+        if (!sharedExecutor && executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * @return The executor of this clock, created on first use when it is not
+     *         shared.
+     */
+    private synchronized ScheduledExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "game-clock");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+}
@@ -0,0 +1,208 @@
+package nl.tudelft.jpacman.clock;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A clock on top of another clock that can be suspended and resumed. While
+ * it is suspended its time stands still and none of its tasks are executed;
+ * on resume every pending task is scheduled again with the delay it had
+ * left. Suspending and resuming only moves tasks between the clocks, no
+ * threads are stopped or created.
+ */
+public class SuspendableClock implements GameClock {
+
+    /**
+     * The clock executing the tasks while this clock is running.
+     */
+    private final GameClock base;
+
+    /**
+     * The tasks that were scheduled but not yet executed or cancelled.
+     */
+    private final Set<SuspendableTask> pending;
+
+    /**
+     * The total time in milliseconds this clock was suspended, not counting
+     * the current suspension.
+     */
+    private long suspendedTotal;
+
+    /**
+     * The base clock time at which this clock was suspended, only relevant
+     * while it is suspended.
+     */
+    private long suspendedAt;
+
+    /**
+     * <code>true</code> iff this clock is currently suspended.
+     */
+    private boolean suspended;
+
+    /**
+     * Creates a new, running clock.
+     *
+     * @param base
+     *            The clock executing the tasks while this clock is running.
+     */
+    public SuspendableClock(GameClock base) {
+        assert base != null;
+        this.base = base;
+        this.pending = new LinkedHashSet<>();
+    }
+
+    @Override
+    public synchronized long currentTimeMillis() {
+        long now = suspended ? suspendedAt : base.currentTimeMillis();
+        return now - suspendedTotal;
+    }
+
+    @Override
+    public synchronized ScheduledTask schedule(Runnable task, long delayMillis) {
+        SuspendableTask scheduled = new SuspendableTask(task,
+            currentTimeMillis() + Math.max(0L, delayMillis));
+        pending.add(scheduled);
+        if (!suspended) {
+            scheduled.submit(delayMillis);
+        }
+        return scheduled;
+    }
+
+    /**
+     * Suspends this clock, freezing its time and the remaining delays of
+     * all pending tasks. Has no effect if it is already suspended.
+     */
+    public synchronized void suspend() {
+        if (suspended) {
+            return;
+        }
+        suspendedAt = base.currentTimeMillis();
+        suspended = true;
+        for (SuspendableTask task : pending) {
+            task.withdraw();
+        }
+    }
+
+    /**
+     * Resumes this clock, scheduling all pending tasks again with the delay
+     * they had left when it was suspended. Has no effect if it is running.
+     */
+    public synchronized void resume() {
+        if (!suspended) {
+            return;
+        }
+        suspendedTotal += base.currentTimeMillis() - suspendedAt;
+        suspended = false;
+        long now = currentTimeMillis();
+        for (SuspendableTask task : pending) {
+            task.submit(task.due - now);
+        }
+    }
+
+    /**
+     * Cancels all pending tasks.
+     */
+    public synchronized void cancelAll() {
+        List<SuspendableTask> tasks = new ArrayList<>(pending);
+        for (SuspendableTask task : tasks) {
+            task.cancel();
+        }
+    }
+
+    /**
+     * @return <code>true</code> iff this clock is currently suspended.
+     */
+    public synchronized boolean isSuspended() {
+        return suspended;
+    }
+
+    /**
+     * @return The number of tasks waiting to be executed.
+     */
+    public synchronized int getPendingTasks() {
+        return pending.size();
+    }
+
+    /**
+     * Removes a task from the pending tasks if it is due on the base clock
+     * with the given generation.
+     *
+     * @param task
+     *            The task that became due.
+     * @param generation
+     *            The generation of the base clock schedule that fired.
+     * @return <code>true</code> iff the task should be executed now.
+     */
+    private synchronized boolean take(SuspendableTask task, int generation) {
+        if (suspended || task.generation != generation) {
+            return false;
+        }
+        return pending.remove(task);
+    }
+
+    /**
+     * A task on this clock, scheduled on the base clock while it is running.
+     */
+    private final class SuspendableTask implements ScheduledTask {
+
+        private final Runnable task;
+
+        /**
+         * The time of this clock at which the task is due.
+         */
+        private final long due;
+
+        /**
+         * The schedule of this task on the base clock, if any.
+         */
+        private ScheduledTask handle;
+
+        /**
+         * Counts the schedules on the base clock, so an execution that was
+         * withdrawn too late can recognise itself as stale.
+         */
+        private int generation;
+
+        SuspendableTask(Runnable task, long due) {
+            this.task = task;
+            this.due = due;
+        }
+
+        /**
+         * Schedules this task on the base clock. Must hold the clock lock.
+         *
+         * @param delayMillis
+         *            The delay left before the task is due.
+         */
+        void submit(long delayMillis) {
+            final int current = ++generation;
+            handle = base.schedule(() -> {
+                if (take(this, current)) {
+                    task.run();
+                }
+            }, Math.max(0L, delayMillis));
+        }
+
+        /**
+         * Removes this task from the base clock. Must hold the clock lock.
+         */
+        void withdraw() {
+            generation++;
+            if (handle != null) {
+                handle.cancel();
+                handle = null;
+            }
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (SuspendableClock.this) {
+                if (pending.remove(this)) {
+                    withdraw();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package nl.tudelft.jpacman.clock;
+
+import java.util.PriorityQueue;
+
+/**
+ * A clock whose time only passes when it is advanced explicitly. Due tasks
+ * are executed in order on the thread advancing the clock, each one seeing
+ * the clock at its own due time. This lets simulations and tests run as
+ * fast as the processor allows instead of waiting for the wall clock.
+ */
+public class VirtualClock implements GameClock {
+
+    /**
+     * The pending tasks, ordered by due time and then by scheduling order.
+     */
+    private final PriorityQueue<VirtualTask> pending;
+
+    /**
+     * The lock that ensures only one thread advances the clock at a time.
+     */
+    private final Object advanceLock = new Object();
+
+    /**
+     * The current time of this clock.
+     */
+    private long now;
+
+    /**
+     * The number of tasks scheduled so far, used to keep tasks with the same
+     * due time in scheduling order.
+     */
+    private long sequence;
+
+    /**
+     * Creates a new virtual clock starting at time 0.
+     */
+    public VirtualClock() {
+        this(0L);
+    }
+
+    /**
+     * Creates a new virtual clock.
+     *
+     * @param start
+     *            The initial time in milliseconds.
+     */
+    public VirtualClock(long start) {
+        this.pending = new PriorityQueue<>();
+        this.now = start;
+    }
+
+    @Override
+    public synchronized long currentTimeMillis() {
+        return now;
+    }
+
+    @Override
+    public synchronized ScheduledTask schedule(Runnable task, long delayMillis) {
+        VirtualTask scheduled = new VirtualTask(task, now + Math.max(0L, delayMillis), sequence++);
+        pending.add(scheduled);
+        return scheduled;
+    }
+
+    /**
+     * Advances the time of this clock, executing all tasks that become due,
+     * including those scheduled by the executed tasks themselves.
+     *
+     * @param millis
+     *            The amount of milliseconds to advance.
+     */
+    public void advance(long millis) {
+        assert millis >= 0;
+        synchronized (advanceLock) {
+            long target;
+            synchronized (this) {
+                target = now + millis;
+            }
+            VirtualTask next = poll(target);
+            while (next != null) {
+                next.task.run();
+                next = poll(target);
+            }
+            synchronized (this) {
+                now = target;
+            }
+        }
+    }
+
+    /**
+     * @return The number of tasks waiting to be executed.
+     */
+    public synchronized int getPendingTasks() {
+        return pending.size();
+    }
+
+    /**
+     * Removes the next task due at or before the target time and moves the
+     * time of this clock to its due time.
+     *
+     * @param target
+     *            The time up to which tasks are executed.
+     * @return The next task to execute, or <code>null</code> if there is none.
+     */
+    private synchronized VirtualTask poll(long target) {
+        VirtualTask next = pending.peek();
+        if (next == null || next.due > target) {
+            return null;
+        }
+        pending.poll();
+        now = next.due;
+        return next;
+    }
+
+    /**
+     * Removes a cancelled task from the pending tasks.
+     *
+     * @param task
+     *            The task to remove.
+     */
+    private synchronized void remove(VirtualTask task) {
+        pending.remove(task);
+    }
+
+    /**
+     * A task waiting for its due time on this clock.
+     */
+    private final class VirtualTask implements ScheduledTask, Comparable<VirtualTask> {
+
+        private final Runnable task;
+        private final long due;
+        private final long order;
+
+        VirtualTask(Runnable task, long due, long order) {
+            this.task = task;
+            this.due = due;
+            this.order = order;
+        }
+
+        @Override
+        public void cancel() {
+            remove(this);
+        }
+
+        @Override
+        public int compareTo(VirtualTask other) {
+            int result = Long.compare(due, other.due);
+            if (result == 0) {
+                result = Long.compare(order, other.order);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,402 @@
+package nl.tudelft.jpacman.event;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+
+/**
+ * Delivers {@link GameEvent}s from the game to subscribers running on their
+ * own threads.
+ * <p>
+ * Events are written into a preallocated ring buffer, so publishing does not
+ * allocate and only costs a sequence claim and a few writes. Every subscriber
+ * follows the buffer with its own cursor and receives all events that became
+ * available since its last wake-up as one batch. A subscriber without events
+ * parks until a publisher wakes it, so idle subscribers cost no CPU time;
+ * publishers only wake subscribers that are parked. A publisher only waits when
+ * the slowest subscriber lags a full buffer behind, unless it publishes with
+ * {@link #tryPublish}, which drops and counts the event instead; without
+ * subscribers publishing does nothing. A subscriber whose thread dies, from an
+ * {@link Error} thrown by the subscriber, is removed so publishers no longer
+ * wait for it.
+ */
+public class EventBus implements AutoCloseable {
+
+    /**
+     * The default number of slots of the ring buffer.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * The time to wait for subscriber threads when the bus is closed.
+     */
+    private static final long CLOSE_TIMEOUT = 1000L;
+
+    /**
+     * Counts the subscriber threads of all buses, used to name them.
+     */
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    /**
+     * The reused event slots.
+     */
+    private final GameEvent[] ring;
+
+    /**
+     * For each slot the sequence of the event last published into it.
+     */
+    private final AtomicLongArray published;
+
+    /**
+     * Maps a sequence onto a slot, the capacity minus one.
+     */
+    private final int mask;
+
+    /**
+     * The last sequence claimed by a publisher.
+     */
+    private final AtomicLong claimed = new AtomicLong(-1L);
+
+    /**
+     * The number of events dropped by {@link #tryPublish} as the buffer was
+     * full.
+     */
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * The current subscriptions, replaced as a whole when one is added or
+     * removed so publishers can iterate it without locking or allocating.
+     */
+    private volatile Subscription[] subscriptions = new Subscription[0];
+
+    /**
+     * Creates a new bus with the default capacity.
+     */
+    public EventBus() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new bus.
+     *
+     * @param capacity
+     *            The number of slots of the ring buffer, a power of two.
+     */
+    public EventBus(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException(
+                "Capacity must be a positive power of two, got " + capacity);
+        }
+        this.ring = new GameEvent[capacity];
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            ring[i] = new GameEvent();
+            published.set(i, -1L);
+        }
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Publishes an event to all current subscribers.
+     *
+     * @param type
+     *            The kind of event.
+     * @param unit
+     *            The unit the event is about, or <code>null</code>.
+     * @param square
+     *            The square the event happened on, or <code>null</code>.
+     * @param value
+     *            The value of the event, see {@link GameEvent.Type}.
+     * @param time
+     *            The game time of the event.
+     */
+    public void publish(GameEvent.Type type, Unit unit, Square square, int value, long time) {
+        if (subscriptions.length == 0) {
+            return;
+        }
+        long sequence = claimed.incrementAndGet();
+        long wrapPoint = sequence - ring.length;
+        while (wrapPoint > slowestCursor(sequence)) {
+            LockSupport.parkNanos(1L);
+        }
+        write(sequence, type, unit, square, value, time);
+    }
+
+    /**
+     * Publishes an event to all current subscribers if the buffer has room
+     * for it, and drops it otherwise, so the caller never waits. Meant for
+     * publishers holding a lock that subscribers or other publishers may
+     * need.
+     *
+     * @param type
+     *            The kind of event.
+     * @param unit
+     *            The unit the event is about, or <code>null</code>.
+     * @param square
+     *            The square the event happened on, or <code>null</code>.
+     * @param value
+     *            The value of the event, see {@link GameEvent.Type}.
+     * @param time
+     *            The game time of the event.
+     * @return <code>false</code> iff the event was dropped, counted by
+     *         {@link #getDroppedEvents()}.
+     */
+    public boolean tryPublish(GameEvent.Type type, Unit unit, Square square, int value,
+                              long time) {
+        if (subscriptions.length == 0) {
+            return true;
+        }
+        long sequence;
+        do {
+            sequence = claimed.get() + 1;
+            if (sequence - ring.length > slowestCursor(sequence)) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence - 1, sequence));
+        write(sequence, type, unit, square, value, time);
+        return true;
+    }
+
+    /**
+     * Writes a claimed event into its slot, makes it available and wakes the
+     * subscribers waiting for it.
+     */
+    private void write(long sequence, GameEvent.Type type, Unit unit, Square square,
+                       int value, long time) {
+        int slot = (int) (sequence & mask);
+        ring[slot].set(type, unit, square, value, time);
+        published.set(slot, sequence);
+        wakeSubscribers();
+    }
+
+    /**
+     * Wakes the subscribers waiting for events. A subscriber announces it is
+     * about to park before it looks for events one last time, so either it
+     * sees the event just published or it is woken here.
+     */
+    private void wakeSubscribers() {
+        for (Subscription subscription : subscriptions) {
+            if (subscription.waiting) {
+                LockSupport.unpark(subscription.thread);
+            }
+        }
+    }
+
+    /**
+     * Adds a subscriber, which will receive all events published from now on
+     * on a new daemon thread.
+     *
+     * @param subscriber
+     *            The subscriber.
+     */
+    public synchronized void subscribe(EventSubscriber subscriber) {
+        assert subscriber != null;
+        Subscription subscription = new Subscription(subscriber, claimed.get());
+        Subscription[] current = subscriptions;
+        Subscription[] updated = new Subscription[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, current.length);
+        updated[current.length] = subscription;
+        subscriptions = updated;
+        subscription.thread.start();
+    }
+
+    /**
+     * Removes a subscriber and stops its thread. Events that were not yet
+     * delivered to it are dropped.
+     *
+     * @param subscriber
+     *            The subscriber to remove.
+     */
+    public void unsubscribe(EventSubscriber subscriber) {
+        Subscription removed = null;
+        synchronized (this) {
+            for (Subscription subscription : subscriptions) {
+                if (subscription.subscriber == subscriber) {
+                    removed = subscription;
+                    remove(subscription);
+                    break;
+                }
+            }
+        }
+        if (removed != null) {
+            removed.stop();
+        }
+    }
+
+    /**
+     * Removes a subscription from the current ones, if it is still there.
+     *
+     * @param removed
+     *            The subscription to remove.
+     */
+    private synchronized void remove(Subscription removed) {
+        Subscription[] current = subscriptions;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == removed) {
+                Subscription[] updated = new Subscription[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, updated.length - i);
+                subscriptions = updated;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes all subscribers and stops their threads.
+     */
+    @Override
+    public void close() {
+        Subscription[] current;
+        synchronized (this) {
+            current = subscriptions;
+            subscriptions = new Subscription[0];
+        }
+        for (Subscription subscription : current) {
+            subscription.stop();
+        }
+    }
+
+    /**
+     * @return The number of current subscribers.
+     */
+    public int getSubscriberCount() {
+        return subscriptions.length;
+    }
+
+    /**
+     * @return The number of events dropped by {@link #tryPublish} since this
+     *         bus was made.
+     */
+    public long getDroppedEvents() {
+        return dropped.get();
+    }
+
+    /**
+     * @return The sequence of the last event published, or -1 if none was.
+     */
+    public long getLastSequence() {
+        return claimed.get();
+    }
+
+    /**
+     * @param limit
+     *            The value to return if it is lower than all cursors.
+     * @return The lowest cursor of all subscribers, at most the limit.
+     */
+    private long slowestCursor(long limit) {
+        long slowest = limit;
+        for (Subscription subscription : subscriptions) {
+            slowest = Math.min(slowest, subscription.cursor);
+        }
+        return slowest;
+    }
+
+    /**
+     * A subscriber together with its thread and position in the buffer.
+     */
+    private final class Subscription implements Runnable {
+
+        private final EventSubscriber subscriber;
+        private final Thread thread;
+
+        /**
+         * The sequence of the last event handled by the subscriber.
+         */
+        private volatile long cursor;
+
+        private volatile boolean running = true;
+
+        /**
+         * Whether the subscriber found no events and is about to park, or
+         * parked, until a publisher wakes it.
+         */
+        private volatile boolean waiting;
+
+        Subscription(EventSubscriber subscriber, long start) {
+            this.subscriber = subscriber;
+            this.cursor = start;
+            this.thread = new Thread(this, "event-bus-" + THREAD_COUNT.incrementAndGet());
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try {
+                long next = cursor + 1;
+                while (running) {
+                    long available = lastAvailable(next);
+                    if (available < next) {
+                        waiting = true;
+                        if (running && lastAvailable(next) < next) {
+                            LockSupport.park(this);
+                        }
+                        waiting = false;
+                        continue;
+                    }
+                    for (long sequence = next; sequence <= available; sequence++) {
+                        deliver(sequence, sequence == available);
+                    }
+                    cursor = available;
+                    next = available + 1;
+                }
+            } finally {
+                if (running) {
+                    // died from an error: drop it before publishers stop waiting
+                    // for its cursor, so none sees it once they move on
+                    running = false;
+                    remove(this);
+                    cursor = Long.MAX_VALUE;
+                }
+            }
+        }
+
+        /**
+         * @param from
+         *            The first sequence not yet handled.
+         * @return The last sequence of the unbroken run of published events
+         *         starting at the given one, or one less if it is not
+         *         published yet.
+         */
+        private long lastAvailable(long from) {
+            long sequence = from;
+            long limit = from + ring.length;
+            while (sequence < limit && published.get((int) (sequence & mask)) == sequence) {
+                sequence++;
+            }
+            return sequence - 1;
+        }
+
+        /**
+         * Hands a single event to the subscriber, reporting its failures
+         * without stopping the subscription.
+         */
+        private void deliver(long sequence, boolean endOfBatch) {
+            try {
+                subscriber.onEvent(ring[(int) (sequence & mask)], sequence, endOfBatch);
+            } catch (RuntimeException e) {
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+        }
+
+        /**
+         * Stops the thread of this subscription after its current batch.
+         */
+        void stop() {
+            running = false;
+            LockSupport.unpark(thread);
+            if (thread != Thread.currentThread()) {
+                try {
+                    thread.join(CLOSE_TIMEOUT);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
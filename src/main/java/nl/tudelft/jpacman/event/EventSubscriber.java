@@ -0,0 +1,21 @@
+package nl.tudelft.jpacman.event;
+
+/**
+ * A consumer of the events of an {@link EventBus}, called on its own thread.
+ */
+@FunctionalInterface
+public interface EventSubscriber {
+
+    /**
+     * Handles a single event. The event is only valid during this call.
+     *
+     * @param event
+     *            The event.
+     * @param sequence
+     *            The sequence number of the event on the bus.
+     * @param endOfBatch
+     *            <code>true</code> iff this is the last event that was
+     *            available, a good moment to flush or repaint.
+     */
+    void onEvent(GameEvent event, long sequence, boolean endOfBatch);
+}
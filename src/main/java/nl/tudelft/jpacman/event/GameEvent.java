@@ -0,0 +1,137 @@
+package nl.tudelft.jpacman.event;
+
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+
+/**
+ * Something that happened in a game. Events are slots of the ring buffer of
+ * an {@link EventBus} and are reused once all subscribers have seen them, so
+ * subscribers must copy what they need instead of keeping the event.
+ */
+public final class GameEvent {
+
+    /**
+     * The kinds of events published by a level.
+     */
+    public enum Type {
+
+        /**
+         * A unit moved to {@link GameEvent#getSquare()}.
+         */
+        UNIT_MOVED,
+
+        /**
+         * A player ate a pellet on {@link GameEvent#getSquare()} worth
+         * {@link GameEvent#getValue()} points.
+         */
+        PELLET_EATEN,
+
+        /**
+         * A ghost was killed by a player and respawned.
+         */
+        GHOST_KILLED,
+
+        /**
+         * The score of a player changed to {@link GameEvent#getValue()}.
+         */
+        SCORE_CHANGED,
+
+        /**
+         * The lives left of a player changed to {@link GameEvent#getValue()},
+         * or the player died.
+         */
+        LIVES_CHANGED,
+
+        /**
+         * A timed effect lasting {@link GameEvent#getValue()} milliseconds
+         * started on a unit, or on all ghosts if there is no unit.
+         */
+        EFFECT_STARTED,
+
+        /**
+         * A timed effect ended on a unit, or on all ghosts if there is no
+         * unit.
+         */
+        EFFECT_ENDED,
+
+        /**
+         * A special pellet or box was spawned on {@link GameEvent#getSquare()}.
+         */
+        SPECIAL_SPAWNED,
+
+        /**
+         * The level was won.
+         */
+        LEVEL_WON,
+
+        /**
+         * The level was lost.
+         */
+        LEVEL_LOST
+    }
+
+    private Type type;
+    private Unit unit;
+    private Square square;
+    private int value;
+    private long time;
+
+    /**
+     * Creates an empty slot, only done by the bus.
+     */
+    GameEvent() {
+        // filled in by EventBus#publish
+    }
+
+    /**
+     * Fills this slot with a new event.
+     */
+    void set(Type newType, Unit newUnit, Square newSquare, int newValue, long newTime) {
+        this.type = newType;
+        this.unit = newUnit;
+        this.square = newSquare;
+        this.value = newValue;
+        this.time = newTime;
+    }
+
+    /**
+     * @return The kind of this event.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return The unit this event is about, or <code>null</code>.
+     */
+    public Unit getUnit() {
+        return unit;
+    }
+
+    /**
+     * @return The square this event happened on, or <code>null</code>.
+     */
+    public Square getSquare() {
+        return square;
+    }
+
+    /**
+     * @return The value of this event, see {@link Type}.
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * @return The game time in milliseconds at which this event happened.
+     */
+    public long getTime() {
+        return time;
+    }
+
+    @Override
+    public String toString() {
+        return type + "[unit=" + unit + ", square=" + square + ", value=" + value
+            + ", time=" + time + "]";
+    }
+}
@@ -0,0 +1,368 @@
+package nl.tudelft.jpacman.game;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.clock.GameClock;
+import nl.tudelft.jpacman.clock.RealTimeClock;
+import nl.tudelft.jpacman.clock.VirtualClock;
+import nl.tudelft.jpacman.event.EventBus;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.MapParser;
+import nl.tudelft.jpacman.level.PlayerFactory;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+/**
+ * Headless host running many games in a single process. All levels created
+ * by this host run on one shared clock. By default this is a real time clock
+ * backed by a bounded pool, so the number of threads does not grow with the
+ * number of games. A {@link VirtualClock} can be used instead to simulate the
+ * games as fast as possible on the thread advancing it.
+ * <p>
+ * All levels publish their events to one bus (see {@link #getEventBus()}),
+ * which metrics and recordings of the whole host can subscribe to. Without
+ * subscribers publishing costs nothing.
+ */
+public class GameHost implements AutoCloseable {
+
+    /**
+     * The time to wait for running tasks when the host is shut down.
+     */
+    private static final long SHUTDOWN_TIMEOUT = 1000L;
+
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    /**
+     * The pool shared by all levels of this host, or <code>null</code> if
+     * the host runs on a clock it does not own.
+     */
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    /**
+     * The clock shared by all levels of this host.
+     */
+    private final GameClock clock;
+
+    /**
+     * The sprite store shared by all games of this host.
+     */
+    private final PacManSprites sprites;
+
+    /**
+     * The games currently managed by this host.
+     */
+    private final Set<Game> games;
+
+    /**
+     * The bus all levels of this host publish their events to.
+     */
+    private final EventBus eventBus = new EventBus();
+
+    /**
+     * The moves performed by games that were already disposed of.
+     */
+    private final AtomicLong retiredMoves;
+
+    /**
+     * The {@link System#nanoTime()} stamp of the creation of this host.
+     */
+    private final long createdAt;
+
+    /**
+     * The lock that ensures the (not thread safe) factories are used by one
+     * thread at a time.
+     */
+    private final Object factoryLock = new Object();
+
+    /**
+     * The stream from which the random stream of every new game is split,
+     * or <code>null</code> if games are not seeded.
+     */
+    private SplittableRandom seeds;
+
+    /**
+     * Creates a new host using one scheduling thread per available processor.
+     */
+    public GameHost() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new host.
+     *
+     * @param threads
+     *            The number of threads shared by all games.
+     */
+    public GameHost(int threads) {
+        this(threads, PacManSprites.getShared());
+    }
+
+    /**
+     * Creates a new host.
+     *
+     * @param threads
+     *            The number of threads shared by all games.
+     * @param spriteStore
+     *            The sprite store shared by all games.
+     */
+    public GameHost(int threads, PacManSprites spriteStore) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("A host needs at least one thread.");
+        }
+        this.scheduler = new ScheduledThreadPoolExecutor(threads, new HostThreadFactory());
+        this.scheduler.setRemoveOnCancelPolicy(true);
+        this.clock = new RealTimeClock(scheduler);
+        this.sprites = spriteStore;
+        this.games = ConcurrentHashMap.newKeySet();
+        this.retiredMoves = new AtomicLong();
+        this.createdAt = System.nanoTime();
+    }
+
+    /**
+     * Creates a new host whose games all run on the given clock, without
+     * any threads of its own.
+     *
+     * @param clock
+     *            The clock shared by all games.
+     * @param spriteStore
+     *            The sprite store shared by all games.
+     */
+    public GameHost(GameClock clock, PacManSprites spriteStore) {
+        assert clock != null;
+        this.scheduler = null;
+        this.clock = clock;
+        this.sprites = spriteStore;
+        this.games = ConcurrentHashMap.newKeySet();
+        this.retiredMoves = new AtomicLong();
+        this.createdAt = System.nanoTime();
+    }
+
+    /**
+     * Creates a new single player game from a map resource and adds it to
+     * this host. The game is not started.
+     *
+     * @param mapName
+     *            Name of the map resource.
+     * @return The new game.
+     */
+    public Game createGame(String mapName) {
+        synchronized (factoryLock) {
+            try {
+                return addGame(getMapParser().parseMap(mapName));
+            } catch (IOException e) {
+                throw new PacmanConfigurationException(
+                    "Unable to create level, name = " + mapName, e);
+            }
+        }
+    }
+
+    /**
+     * Creates a new single player game from a text map and adds it to this
+     * host. The game is not started.
+     *
+     * @param map
+     *            The rows of the map, see {@link MapParser#parseMap(List)}.
+     * @return The new game.
+     */
+    public Game createGame(List<String> map) {
+        synchronized (factoryLock) {
+            return addGame(getMapParser().parseMap(map));
+        }
+    }
+
+    /**
+     * Seeds all games created from now on. Games created in the same order
+     * after the same seed make the same random choices, which makes runs
+     * on a {@link VirtualClock} reproducible.
+     *
+     * @param seed
+     *            The seed.
+     */
+    public void setSeed(long seed) {
+        synchronized (factoryLock) {
+            seeds = new SplittableRandom(seed);
+        }
+    }
+
+    private Game addGame(Level level) {
+        level.setEventBus(eventBus);
+        Game game = getGameFactory().createSinglePlayerGame(level);
+        games.add(game);
+        return game;
+    }
+
+    /**
+     * @return A new map parser whose levels run on the shared clock, seeded
+     *         if {@link #setSeed(long)} was called.
+     */
+    protected MapParser getMapParser() {
+        SplittableRandom random = seeds == null ? null : seeds.split();
+        return new MapParser(
+            new LevelFactory(sprites, new GhostFactory(sprites), clock, random),
+            new BoardFactory(sprites));
+    }
+
+    /**
+     * @return A new game factory using the shared sprites.
+     */
+    protected GameFactory getGameFactory() {
+        return new GameFactory(new PlayerFactory(sprites));
+    }
+
+    /**
+     * Starts or resumes a game of this host.
+     *
+     * @param game
+     *            The game to start.
+     */
+    public void start(Game game) {
+        assert games.contains(game);
+        game.start();
+    }
+
+    /**
+     * Pauses a game of this host.
+     *
+     * @param game
+     *            The game to stop.
+     */
+    public void stop(Game game) {
+        assert games.contains(game);
+        game.stop();
+    }
+
+    /**
+     * Stops a game and removes it from this host, cancelling all of its
+     * scheduled tasks.
+     *
+     * @param game
+     *            The game to dispose of.
+     */
+    public void dispose(Game game) {
+        if (games.remove(game)) {
+            game.stop();
+            game.getLevel().dispose();
+            retiredMoves.addAndGet(game.getLevel().getMoveCount());
+        }
+    }
+
+    /**
+     * Starts all games of this host.
+     */
+    public void startAll() {
+        games.forEach(Game::start);
+    }
+
+    /**
+     * Pauses all games of this host.
+     */
+    public void stopAll() {
+        games.forEach(Game::stop);
+    }
+
+    /**
+     * Disposes of all games, stops the subscribers of the event bus and
+     * terminates the shared pool, if any. The host can not be used
+     * afterwards.
+     */
+    public void shutdown() {
+        games.forEach(this::dispose);
+        eventBus.close();
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        try {
+            scheduler.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        shutdown();
+    }
+
+    /**
+     * @return The number of games currently managed by this host.
+     */
+    public int getGameCount() {
+        return games.size();
+    }
+
+    /**
+     * @return The number of threads of the shared pool.
+     */
+    public int getThreadCount() {
+        return scheduler == null ? 0 : scheduler.getCorePoolSize();
+    }
+
+    /**
+     * @return The bus all levels of this host publish their events to.
+     */
+    public EventBus getEventBus() {
+        return eventBus;
+    }
+
+    /**
+     * @return The clock shared by all games of this host.
+     */
+    public GameClock getClock() {
+        return clock;
+    }
+
+    /**
+     * @return The number of moves performed by all games of this host since
+     *         it was created, including games that were disposed of.
+     */
+    public long getTotalMoves() {
+        long moves = retiredMoves.get();
+        for (Game game : games) {
+            moves += game.getLevel().getMoveCount();
+        }
+        return moves;
+    }
+
+    /**
+     * @return The average number of moves per (wall clock) second performed
+     *         by all games of this host since it was created.
+     */
+    public double getMovesPerSecond() {
+        long elapsed = System.nanoTime() - createdAt;
+        if (elapsed <= 0) {
+            return 0;
+        }
+        return getTotalMoves() * NANOS_PER_SECOND / elapsed;
+    }
+
+    /**
+     * Creates the daemon threads of the shared pool.
+     */
+    private static final class HostThreadFactory implements ThreadFactory {
+
+        /**
+         * The number of threads created so far, used to name them.
+         */
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "game-host-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package nl.tudelft.jpacman.level;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -15,12 +16,25 @@ import nl.tudelft.jpacman.board.Unit;
  */
 public class CollisionInteractionMap implements CollisionMap {
 
+    /**
+     * Stands in for "no handler" in the dispatch cache.
+     */
+    private static final CollisionHandler<Unit, Unit> NO_HANDLER = (collider, collidee) -> { };
+
     /**
      * The collection of collision handlers.
      */
     private final Map<Class<? extends Unit>,
         Map<Class<? extends Unit>, CollisionHandler<?, ?>>> handlers;
 
+    /**
+     * The resolved handler for every pair of concrete classes that collided
+     * so far. The tables are never modified but replaced as a whole, so
+     * lookups need neither locking nor allocation.
+     */
+    private volatile Map<Class<?>, Map<Class<?>, CollisionHandler<?, ?>>> dispatch =
+        Collections.emptyMap();
+
     /**
      * Creates a new, empty collision map.
      */
@@ -87,7 +101,7 @@ public class CollisionInteractionMap implements CollisionMap {
      * @param handler
      *            The handler that handles the collision.
      */
-    private void addHandler(Class<? extends Unit> collider,
+    private synchronized void addHandler(Class<? extends Unit> collider,
                             Class<? extends Unit> collidee, CollisionHandler<?, ?> handler) {
         if (!handlers.containsKey(collider)) {
             handlers.put(collider, new HashMap<>());
@@ -95,6 +109,7 @@ public class CollisionInteractionMap implements CollisionMap {
 
         Map<Class<? extends Unit>, CollisionHandler<?, ?>> map = handlers.get(collider);
         map.put(collidee, handler);
+        dispatch = Collections.emptyMap();
     }
 
     /**
@@ -115,23 +130,74 @@ public class CollisionInteractionMap implements CollisionMap {
     @Override
     public <C1 extends Unit, C2 extends Unit> void collide(C1 collider,
                                                            C2 collidee) {
-        Class<? extends Unit> colliderKey = getMostSpecificClass(handlers, collider.getClass());
-        if (colliderKey == null) {
+        CollisionHandler<?, ?> handler = null;
+        Map<Class<?>, CollisionHandler<?, ?>> row = dispatch.get(collider.getClass());
+        if (row != null) {
+            handler = row.get(collidee.getClass());
+        }
+        if (handler == null) {
+            handler = cacheHandler(collider.getClass(), collidee.getClass());
+        }
+        if (handler == NO_HANDLER) {
             return;
         }
 
+        ((CollisionHandler<C1, C2>) handler).handleCollision(collider, collidee);
+    }
+
+    /**
+     * Resolves the handler for a pair of concrete classes and adds it to the
+     * dispatch cache.
+     *
+     * @param colliderType
+     *            The class of the collider.
+     * @param collideeType
+     *            The class of the collidee.
+     * @return The handler, or {@link #NO_HANDLER} if there is none.
+     */
+    private synchronized CollisionHandler<?, ?> cacheHandler(
+        Class<? extends Unit> colliderType, Class<? extends Unit> collideeType) {
+        CollisionHandler<?, ?> handler = resolveHandler(colliderType, collideeType);
+
+        Map<Class<?>, Map<Class<?>, CollisionHandler<?, ?>>> table = new HashMap<>(dispatch);
+        Map<Class<?>, CollisionHandler<?, ?>> row = new HashMap<>();
+        if (table.containsKey(colliderType)) {
+            row.putAll(table.get(colliderType));
+        }
+        row.put(collideeType, handler);
+        table.put(colliderType, row);
+        dispatch = table;
+        return handler;
+    }
+
+    /**
+     * Finds the handler for a pair of concrete classes through the most
+     * specific listed classes.
+     *
+     * @param colliderType
+     *            The class of the collider.
+     * @param collideeType
+     *            The class of the collidee.
+     * @return The handler, or {@link #NO_HANDLER} if there is none.
+     */
+    private CollisionHandler<?, ?> resolveHandler(
+        Class<? extends Unit> colliderType, Class<? extends Unit> collideeType) {
+        Class<? extends Unit> colliderKey = getMostSpecificClass(handlers, colliderType);
+        if (colliderKey == null) {
+            return NO_HANDLER;
+        }
+
         Map<Class<? extends Unit>, CollisionHandler<?, ?>> map = handlers.get(colliderKey);
-        Class<? extends Unit> collideeKey = getMostSpecificClass(map, collidee.getClass());
+        Class<? extends Unit> collideeKey = getMostSpecificClass(map, collideeType);
         if (collideeKey == null) {
-            return;
+            return NO_HANDLER;
         }
 
-        CollisionHandler<C1, C2> collisionHandler = (CollisionHandler<C1, C2>) map.get(collideeKey);
+        CollisionHandler<?, ?> collisionHandler = map.get(collideeKey);
         if (collisionHandler == null) {
-            return;
+            return NO_HANDLER;
         }
-
-        collisionHandler.handleCollision(collider, collidee);
+        return collisionHandler;
     }
 
     /**
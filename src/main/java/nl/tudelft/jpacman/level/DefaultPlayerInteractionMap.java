@@ -1,6 +1,7 @@
 package nl.tudelft.jpacman.level;
 
 import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.event.GameEvent;
 import nl.tudelft.jpacman.level.specialbox.SpecialBox;
 import nl.tudelft.jpacman.npc.Ghost;
 
@@ -43,6 +44,9 @@ public class DefaultPlayerInteractionMap implements CollisionMap {
             (player, ghost) -> {
                 if(ghost.isScared()){
                     player.addPoints(player.killGhost(ghost));
+                    if (level != null) {
+                        level.publish(GameEvent.Type.GHOST_KILLED, ghost, null, 0);
+                    }
                 }else{
                     boolean killPlayer = true;
                     // Collisions related to special states (extension fruits)
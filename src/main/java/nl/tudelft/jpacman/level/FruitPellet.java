@@ -23,6 +23,11 @@ public class FruitPellet extends Pellet {
 
     }
 
+    /**
+     * The fruit this pellet is, or <code>null</code> if unknown.
+     */
+    private final FruitType type;
+
     /**
      * Creates a new pellet.
      *
@@ -30,7 +35,26 @@ public class FruitPellet extends Pellet {
      * @param sprite The sprite of this pellet.
      */
     public FruitPellet(int points, Sprite sprite) {
+        this(points, sprite, null);
+    }
+
+    /**
+     * Creates a new pellet of a known fruit.
+     *
+     * @param points The point value of this pellet.
+     * @param sprite The sprite of this pellet.
+     * @param type The fruit this pellet is.
+     */
+    public FruitPellet(int points, Sprite sprite, FruitType type) {
         super(points, sprite);
+        this.type = type;
+    }
+
+    /**
+     * @return The fruit this pellet is, or <code>null</code> if unknown.
+     */
+    public FruitType getType() {
+        return type;
     }
 
     @Override
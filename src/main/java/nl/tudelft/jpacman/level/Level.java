@@ -1,15 +1,18 @@
 package nl.tudelft.jpacman.level;
 
 import java.util.*;
-import java.util.Map.Entry;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import nl.tudelft.jpacman.board.Board;
 import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.clock.GameClock;
+import nl.tudelft.jpacman.clock.RealTimeClock;
+import nl.tudelft.jpacman.clock.SuspendableClock;
+import nl.tudelft.jpacman.event.EventBus;
+import nl.tudelft.jpacman.event.GameEvent;
 import nl.tudelft.jpacman.npc.Ghost;
 
 /**
@@ -28,6 +31,8 @@ public class Level {
 
     private static final long SPECIAL_SPAWNING_INTERVAL = 7000L;
 
+    private static final long SCARING_TICK = 1000L;
+
     /**
      * The board of this level.
      */
@@ -44,10 +49,41 @@ public class Level {
      */
     private final Object startStopLock = new Object();
 
+
+    /**
+     * The NPCs of this level and, if they are running, their move tasks.
+     */
+    private final Map<Ghost, NpcMoveTask> npcs;
+
+    /**
+     * The clock driving this level. It is either shared with other levels or
+     * owned by this level.
+     */
+    private final GameClock baseClock;
+
+    /**
+     * The clock timing NPC moves, spawns and timed effects, suspended while
+     * this level is paused.
+     */
+    private final SuspendableClock clock;
+
+    /**
+     * <code>true</code> iff the clock was handed to this level and should
+     * not be shut down by it.
+     */
+    private final boolean sharedClock;
+
     /**
-     * The NPCs of this level and, if they are running, their schedules.
+     * The number of moves that were actually performed on this level.
      */
-    private final Map<Ghost, ScheduledExecutorService> npcs;
+    private volatile long moveCount;
+
+    /**
+     * The number of pellets on the board: counted when the level is made,
+     * then kept up to date as pellets are eaten and spawned, so a move does
+     * not count them again.
+     */
+    private final AtomicInteger pellets = new AtomicInteger();
 
     /**
      * <code>true</code> iff this level is currently in progress, i.e. players
@@ -80,6 +116,41 @@ public class Level {
      */
     private final Set<LevelObserver> observers;
 
+    /**
+     * The random stream of this level, from which the streams of its units
+     * are split.
+     */
+    private final SplittableRandom random;
+
+    /**
+     * The occupants of the destination square of the move in progress,
+     * reused by every move to avoid allocating. Only used under the move
+     * lock.
+     */
+    private final List<Unit> moveOccupants = new ArrayList<>();
+
+    /**
+     * The effects queued by the collisions of moves, waiting to be resolved
+     * outside the move lock. Only accessed under the move lock.
+     */
+    private final Deque<DeferredEffect> deferredEffects = new ArrayDeque<>();
+
+    /**
+     * The bus receiving the events of this level, if any.
+     */
+    private volatile EventBus eventBus;
+
+    /**
+     * The scores of the players as last published, in registration order.
+     */
+    private int[] publishedScores = new int[0];
+
+    /**
+     * The lives of the players as last published, in registration order,
+     * or -1 for a player published dead.
+     */
+    private int[] publishedLives = new int[0];
+
     /**
      * The level of scaring 0 - 3. 5 seconds for 0-1 and 7 seconds for 2-3.
      */
@@ -91,15 +162,16 @@ public class Level {
     private int scaringTimeLeft;
 
     /**
-     * The timer which manages the time left for the scaring level.
+     * The spawner object to spawn dynamically special pellets and boxes in the board
      */
-    private Timer scaringTimer;
+    private SpecialUnitySpawner spawner;
+    private DynamicSpawnTask spawnTask;
 
     /**
-     * The spawner object to spawn dynamically special pellets and boxes in the board
+     * <code>true</code> iff the NPC and spawner tasks were created. They are
+     * created on the first start and then only paused with the clock.
      */
-    private SpecialUnitySpawner spawner;
-    private ScheduledExecutorService spawnService;
+    private boolean npcsStarted;
 
     /**
      * Creates a new level for the board.
@@ -115,23 +187,75 @@ public class Level {
      */
     public Level(Board board, List<Ghost> ghosts, List<Square> startPositions,
                  CollisionMap collisionMap) {
+        this(board, ghosts, startPositions, collisionMap, null);
+    }
+
+    /**
+     * Creates a new level for the board, timing its NPCs, spawns and timed
+     * effects with the given clock.
+     *
+     * @param board
+     *            The board for the level.
+     * @param ghosts
+     *            The ghosts on the board.
+     * @param startPositions
+     *            The squares on which players start on this board.
+     * @param collisionMap
+     *            The collection of collisions that should be handled.
+     * @param clock
+     *            The clock shared with other levels, or <code>null</code>
+     *            to let this level run on its own real time clock.
+     */
+    public Level(Board board, List<Ghost> ghosts, List<Square> startPositions,
+                 CollisionMap collisionMap, GameClock clock) {
+        this(board, ghosts, startPositions, collisionMap, clock, new SplittableRandom());
+    }
+
+    /**
+     * Creates a new level for the board, timing its NPCs, spawns and timed
+     * effects with the given clock and drawing all of its random choices
+     * from the given stream. Every ghost gets its own stream split from it,
+     * so a seeded stream makes the level reproducible.
+     *
+     * @param board
+     *            The board for the level.
+     * @param ghosts
+     *            The ghosts on the board.
+     * @param startPositions
+     *            The squares on which players start on this board.
+     * @param collisionMap
+     *            The collection of collisions that should be handled.
+     * @param clock
+     *            The clock shared with other levels, or <code>null</code>
+     *            to let this level run on its own real time clock.
+     * @param random
+     *            The random stream of this level.
+     */
+    public Level(Board board, List<Ghost> ghosts, List<Square> startPositions,
+                 CollisionMap collisionMap, GameClock clock, SplittableRandom random) {
         assert board != null;
         assert ghosts != null;
         assert startPositions != null;
+        assert random != null;
 
         this.board = board;
         this.inProgress = false;
-        this.npcs = new HashMap<>();
+        this.random = random;
+        this.npcs = new LinkedHashMap<>();
         for (Ghost ghost : ghosts) {
             npcs.put(ghost, null);
+            ghost.setRandom(random.split());
         }
         this.startSquares = startPositions;
         this.startSquareIndex = 0;
         this.players = new ArrayList<>();
         this.collisions = collisionMap;
-        this.observers = new HashSet<>();
+        this.observers = new CopyOnWriteArraySet<>();
+        this.pellets.set(remainingPellets());
 
-        this.scaringTimer = new Timer();
+        this.sharedClock = clock != null;
+        this.baseClock = sharedClock ? clock : new RealTimeClock();
+        this.clock = new SuspendableClock(baseClock);
     }
 
     /**
@@ -170,6 +294,10 @@ public class Level {
             return;
         }
         players.add(player);
+        publishedScores = Arrays.copyOf(publishedScores, players.size());
+        publishedScores[players.size() - 1] = player.getScore();
+        publishedLives = Arrays.copyOf(publishedLives, players.size());
+        publishedLives[players.size() - 1] = livesOf(player);
         Square square = startSquares.get(startSquareIndex);
         player.occupy(square);
         player.setSpawnSquare(square);
@@ -186,6 +314,61 @@ public class Level {
         this.spawner = spawner;
     }
 
+    /**
+     * Sets the bus that will receive the events of this level.
+     *
+     * @param bus
+     *            The bus, or <code>null</code> to stop publishing events.
+     */
+    public void setEventBus(EventBus bus) {
+        this.eventBus = bus;
+    }
+
+    /**
+     * @return The bus receiving the events of this level, or
+     *         <code>null</code> if there is none.
+     */
+    public EventBus getEventBus() {
+        return eventBus;
+    }
+
+    /**
+     * Publishes an event of this level, if it has an event bus. Events of a
+     * move are published under the move lock, so they never wait for a
+     * slow subscriber: they are dropped, and counted by the bus, if its
+     * buffer is full. Other events wait for room.
+     *
+     * @param type
+     *            The kind of event.
+     * @param unit
+     *            The unit the event is about, or <code>null</code>.
+     * @param square
+     *            The square the event happened on, or <code>null</code>.
+     * @param value
+     *            The value of the event, see {@link GameEvent.Type}.
+     */
+    public void publish(GameEvent.Type type, Unit unit, Square square, int value) {
+        EventBus bus = eventBus;
+        if (bus == null) {
+            return;
+        }
+        if (Thread.holdsLock(moveLock)) {
+            bus.tryPublish(type, unit, square, value, clock.currentTimeMillis());
+        } else {
+            bus.publish(type, unit, square, value, clock.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Splits a new random stream off the stream of this level, for a
+     * component that makes its own random choices.
+     *
+     * @return A new stream, independent of the other ones of this level.
+     */
+    public synchronized SplittableRandom splitRandom() {
+        return random.split();
+    }
+
     /**
      * Returns the board of this level.
      *
@@ -230,30 +413,121 @@ public class Level {
 
             if (destination.isAccessibleTo(unit)) {
                 // Special boxes first to handle arriving on a bridge that changes vertical level
-                List<Unit> occupants = destination.getOrderedOccupants();
+                List<Unit> occupants = moveOccupants;
+                destination.collectOrderedOccupants(occupants);
                 unit.occupy(destination);
+                unit.recordMove(location, clock.currentTimeMillis());
+                moveCount++;
+                publish(GameEvent.Type.UNIT_MOVED, unit, destination, 0);
                 // Units that could set vertical pos for collision treatment will be treated first to UP unit if needed
                 unit.setVerticalPosition(Unit.VerticalPos.DOWN);
-                for (Unit occupant : occupants) {
-                    if (unit.getVerticalPosition() == occupant.getVerticalPosition())
+                for (int i = 0; i < occupants.size(); i++) {
+                    Unit occupant = occupants.get(i);
+                    // Occupants sent away by an earlier collision, such as a ghost killed by a grenade, are skipped
+                    if (isStillOn(occupant, destination)
+                        && unit.getVerticalPosition() == occupant.getVerticalPosition())
                         collisions.collide(unit, occupant);
                 }
+                occupants.clear();
             }
-            updateObservers();
+        }
+        runDeferredEffects();
+        updateObservers();
+    }
+
+    /**
+     * @return <code>true</code> iff the unit still occupies the square.
+     */
+    private static boolean isStillOn(Unit unit, Square square) {
+        return unit.hasSquare() && unit.getSquare() == square;
+    }
+
+    /**
+     * Defers the expensive part of a collision effect. During a move the
+     * effect is queued and resolved by the moving thread once it released
+     * the move lock, then applied under the lock again. Outside a move it is
+     * resolved and applied right away.
+     *
+     * @param effect
+     *            The effect, holding a snapshot of the state it needs.
+     */
+    public void defer(DeferredEffect effect) {
+        assert effect != null;
+        if (Thread.holdsLock(moveLock)) {
+            deferredEffects.add(effect);
+            return;
+        }
+        effect.resolve();
+        synchronized (moveLock) {
+            effect.apply();
         }
     }
 
     /**
-     * Starts or resumes this level, allowing movement and (re)starting the
-     * NPCs.
+     * Resolves and applies all effects queued by moves, then publishes the
+     * scores and lives changed by the move and its effects.
+     */
+    private void runDeferredEffects() {
+        while (true) {
+            DeferredEffect effect;
+            synchronized (moveLock) {
+                effect = deferredEffects.poll();
+                if (effect == null) {
+                    publishPlayerChanges();
+                    return;
+                }
+            }
+            effect.resolve();
+            synchronized (moveLock) {
+                effect.apply();
+            }
+        }
+    }
+
+    /**
+     * Publishes the scores and lives of the players that changed since they
+     * were last published.
+     */
+    private void publishPlayerChanges() {
+        if (eventBus == null) {
+            return;
+        }
+        for (int i = 0; i < publishedScores.length; i++) {
+            Player player = players.get(i);
+            if (player.getScore() != publishedScores[i]) {
+                publishedScores[i] = player.getScore();
+                publish(GameEvent.Type.SCORE_CHANGED, player, null, publishedScores[i]);
+            }
+            int lives = livesOf(player);
+            if (lives != publishedLives[i]) {
+                publishedLives[i] = lives;
+                publish(GameEvent.Type.LIVES_CHANGED, player, null, player.getLifeLeft());
+            }
+        }
+    }
+
+    /**
+     * @return The lives left of a player, or -1 if it is dead.
+     */
+    private static int livesOf(Player player) {
+        return player.isAlive() ? player.getLifeLeft() : -1;
+    }
+
+    /**
+     * Starts or resumes this level, allowing movement and starting the NPCs
+     * or resuming them and all timed effects where they were paused.
      */
     public void start() {
         synchronized (startStopLock) {
             if (isInProgress()) {
                 return;
             }
-            startNPCs();
-            startSpawner();
+            if (!npcsStarted) {
+                startNPCs();
+                startSpawner();
+                npcsStarted = true;
+            }
+            clock.resume();
             inProgress = true;
             updateObservers();
         }
@@ -261,42 +535,75 @@ public class Level {
 
     /**
      * Stops or pauses this level, no longer allowing any movement on the board
-     * and stopping all NPCs.
+     * and freezing all NPCs and timed effects with their remaining delays.
      */
     public void stop() {
         synchronized (startStopLock) {
             if (!isInProgress()) {
                 return;
             }
+            clock.suspend();
+            inProgress = false;
+        }
+    }
+
+    /**
+     * Stops this level and releases its scheduling resources. The clock is
+     * only shut down when it is owned by this level, a shared one is left
+     * running for the other levels.
+     */
+    public void dispose() {
+        stop();
+        synchronized (startStopLock) {
             stopNPCs();
             stopSpawner();
-            inProgress = false;
+            clock.cancelAll();
+        }
+        if (!sharedClock) {
+            ((RealTimeClock) baseClock).shutdown();
         }
     }
 
+    /**
+     * Schedules a one-shot task, such as the end of a timed effect, on the
+     * clock of this level.
+     *
+     * @param task
+     *            The task to execute.
+     * @param delayMillis
+     *            The delay in milliseconds before the task is executed.
+     */
+    public void scheduleEffect(Runnable task, long delayMillis) {
+        clock.schedule(task, delayMillis);
+    }
+
+    /**
+     * @return The clock timing this level, which stands still while the
+     *         level is paused.
+     */
+    public GameClock getClock() {
+        return clock;
+    }
+
     /**
      * Starts all NPC movement scheduling.
      */
     private void startNPCs() {
         for (final Ghost npc : npcs.keySet()) {
-            ScheduledExecutorService service = Executors.newSingleThreadScheduledExecutor();
-
-            service.schedule(new NpcMoveTask(service, npc),
-                npc.getInterval() / NPC_STARTER_INTERVAL_DIVIDER, TimeUnit.MILLISECONDS);
-
-            npcs.put(npc, service);
+            NpcMoveTask task = new NpcMoveTask(npc);
+            task.schedule(npc.getInterval() / NPC_STARTER_INTERVAL_DIVIDER);
+            npcs.put(npc, task);
         }
     }
 
     /**
-     * Stops all NPC movement scheduling and interrupts any movements being
-     * executed.
+     * Stops all NPC movement scheduling.
      */
     private void stopNPCs() {
-        for (Entry<Ghost, ScheduledExecutorService> entry : npcs.entrySet()) {
-            ScheduledExecutorService schedule = entry.getValue();
-            assert schedule != null;
-            schedule.shutdownNow();
+        for (NpcMoveTask task : npcs.values()) {
+            if (task != null) {
+                task.cancel();
+            }
         }
     }
 
@@ -305,10 +612,8 @@ public class Level {
      */
     private void startSpawner(){
         if (this.spawner != null) {
-            ScheduledExecutorService service = Executors.newSingleThreadScheduledExecutor();
-            this.spawnService = service;
-            service.schedule(new DynamicSpawnTask(service, this.spawner),
-                SPECIAL_SPAWNING_INTERVAL, TimeUnit.MILLISECONDS);
+            this.spawnTask = new DynamicSpawnTask(this.spawner);
+            this.spawnTask.schedule(SPECIAL_SPAWNING_INTERVAL);
         }
     }
 
@@ -316,8 +621,8 @@ public class Level {
      * Stop repeated calling to spawner
      */
     private void stopSpawner(){
-        if (this.spawnService != null)
-            this.spawnService.shutdownNow();
+        if (this.spawnTask != null)
+            this.spawnTask.cancel();
     }
 
     /**
@@ -331,15 +636,28 @@ public class Level {
     }
 
     /**
-     * Updates the observers about the state of this level.
+     * Returns the number of moves performed on this level so far, by players
+     * and NPCs alike. Blocked moves are not counted.
+     *
+     * @return The number of moves performed on this level.
+     */
+    public long getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Updates the observers about the state of this level. This is done
+     * outside the move lock, so observers do not hold up other moves.
      */
     private void updateObservers() {
         if (!isAnyPlayerAlive()) {
+            publish(GameEvent.Type.LEVEL_LOST, null, null, 0);
             for (LevelObserver observer : observers) {
                 observer.levelLost();
             }
         }
-        if (remainingPellets() == 0) {
+        if (pellets.get() <= 0 && recountPellets() == 0) {
+            publish(GameEvent.Type.LEVEL_WON, null, null, 0);
             for (LevelObserver observer : observers) {
                 observer.levelWon();
             }
@@ -354,8 +672,8 @@ public class Level {
      *         alive.
      */
     public boolean isAnyPlayerAlive() {
-        for (Player player : players) {
-            if (player.isAlive()) {
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i).isAlive()) {
                 return true;
             }
         }
@@ -363,7 +681,36 @@ public class Level {
     }
 
     /**
-     * Counts the pellets remaining on the board.
+     * Counts a pellet eaten, see {@link Pellet#onEat(Level, Player)}.
+     */
+    void pelletEaten() {
+        pellets.decrementAndGet();
+    }
+
+    /**
+     * Counts a pellet placed on the board after the level was made.
+     */
+    void pelletPlaced() {
+        pellets.incrementAndGet();
+    }
+
+    /**
+     * Counts the pellets on the board again, as the count kept seems to
+     * have run out, and keeps the result. This catches pellets put on the
+     * board some other way, before the level is declared won.
+     *
+     * @return The amount of pellets remaining on the board.
+     */
+    private int recountPellets() {
+        synchronized (moveLock) {
+            int counted = remainingPellets();
+            pellets.set(counted);
+            return counted;
+        }
+    }
+
+    /**
+     * Counts the pellets remaining on the board, visiting every square.
      *
      * @return The amount of pellets remaining on the board.
      */
@@ -372,11 +719,7 @@ public class Level {
         int pellets = 0;
         for (int x = 0; x < board.getWidth(); x++) {
             for (int y = 0; y < board.getHeight(); y++) {
-                for (Unit unit : board.squareAt(x, y).getOccupants()) {
-                    if (unit instanceof Pellet) {
-                        pellets++;
-                    }
-                }
+                pellets += board.squareAt(x, y).countOccupants(Pellet.class);
             }
         }
         assert pellets >= 0;
@@ -405,6 +748,8 @@ public class Level {
         this.setScaringTimeLeft();
         this.setScaringTimer();
         this.scaringLevel++;
+        publish(GameEvent.Type.EFFECT_STARTED, null, null,
+            (int) (scaringTimeLeft * SCARING_TICK));
     }
 
     /**
@@ -417,6 +762,7 @@ public class Level {
         for(Player player : this.players){
             player.resetPredatorMod();
         }
+        publish(GameEvent.Type.EFFECT_ENDED, null, null, 0);
     }
 
     /**
@@ -438,17 +784,14 @@ public class Level {
      * Check if the timer should start or no.
      */
     private void setScaringTimer(){
-        this.scaringTimer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                if(scaringTimeLeft > 0){
-                    scaringTimeLeft--;
-                    setScaringTimer();
-                }else{
-                    unscareGhosts();
-                }
+        this.scheduleEffect(() -> {
+            if(scaringTimeLeft > 0){
+                scaringTimeLeft--;
+                setScaringTimer();
+            }else{
+                unscareGhosts();
             }
-        }, 1000L);
+        }, SCARING_TICK);
     }
 
     public float getScaringTimeLeft(){
@@ -456,16 +799,63 @@ public class Level {
     }
 
     /**
-     * A task that moves an NPC and reschedules itself after it finished.
-     *
-     * @author Jeroen Roosen
+     * A task that runs on the clock of this level and reschedules itself
+     * after it finished, until it is cancelled.
      */
-    private final class NpcMoveTask implements Runnable {
+    private abstract class RepeatingTask implements Runnable {
 
         /**
-         * The service executing the task.
+         * The pending execution of this task, if any.
          */
-        private final ScheduledExecutorService service;
+        private GameClock.ScheduledTask pending;
+
+        /**
+         * <code>true</code> iff this task should no longer be executed.
+         */
+        private boolean cancelled;
+
+        /**
+         * Schedules the next execution of this task.
+         *
+         * @param delayMillis
+         *            The delay in milliseconds before the next execution.
+         */
+        synchronized void schedule(long delayMillis) {
+            if (!cancelled) {
+                pending = clock.schedule(this, delayMillis);
+            }
+        }
+
+        /**
+         * Cancels the pending execution of this task, letting a running
+         * execution finish without rescheduling.
+         */
+        synchronized void cancel() {
+            cancelled = true;
+            if (pending != null) {
+                pending.cancel();
+            }
+        }
+
+        @Override
+        public void run() {
+            schedule(step());
+        }
+
+        /**
+         * Executes a single step of this task.
+         *
+         * @return The delay in milliseconds before the next step.
+         */
+        abstract long step();
+    }
+
+    /**
+     * A task that moves an NPC and reschedules itself after it finished.
+     *
+     * @author Jeroen Roosen
+     */
+    private final class NpcMoveTask extends RepeatingTask {
 
         /**
          * The NPC to move.
@@ -475,24 +865,20 @@ public class Level {
         /**
          * Creates a new task.
          *
-         * @param service
-         *            The service that executes the task.
          * @param npc
          *            The NPC to move.
          */
-        NpcMoveTask(ScheduledExecutorService service, Ghost npc) {
-            this.service = service;
+        NpcMoveTask(Ghost npc) {
             this.npc = npc;
         }
 
         @Override
-        public void run() {
+        long step() {
             Direction nextMove = npc.nextMove();
             if (nextMove != null) {
                 move(npc, nextMove);
             }
-            long interval = npc.getInterval();
-            service.schedule(this, interval, TimeUnit.MILLISECONDS);
+            return npc.getInterval();
         }
     }
 
@@ -500,28 +886,44 @@ public class Level {
     /**
      * A task to make calls to the spawner, that spawns some special units in the board level with probability
      */
-    private final class DynamicSpawnTask implements Runnable {
+    private final class DynamicSpawnTask extends RepeatingTask {
 
-        private final ScheduledExecutorService service;
         private final SpecialUnitySpawner spawner;
 
         /**
          * Create a new task calling repeatedly at {@link #SPECIAL_SPAWNING_INTERVAL} interval
-         * @param service the service
          * @param spawner the spawner
          */
-        DynamicSpawnTask(ScheduledExecutorService service, SpecialUnitySpawner spawner){
-            this.service = service;
+        DynamicSpawnTask(SpecialUnitySpawner spawner){
             this.spawner = spawner;
         }
 
         @Override
-        public void run() {
+        long step() {
             spawner.trySpawnSpecial();
-            service.schedule(this, SPECIAL_SPAWNING_INTERVAL, TimeUnit.MILLISECONDS);
+            return SPECIAL_SPAWNING_INTERVAL;
         }
     }
 
+    /**
+     * A collision effect split in an expensive, read-only part that runs
+     * without holding the move lock and a cheap part that changes the level
+     * under the lock. The effect should take a snapshot of the positions it
+     * needs when it is created, since units keep moving while it resolves.
+     */
+    public interface DeferredEffect {
+
+        /**
+         * Computes the effect from its snapshot, outside the move lock.
+         */
+        void resolve();
+
+        /**
+         * Applies the computed effect, under the move lock.
+         */
+        void apply();
+    }
+
     /**
      * An observer that will be notified when the level is won or lost.
      *
@@ -4,10 +4,12 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.SplittableRandom;
 
 import nl.tudelft.jpacman.board.Board;
 import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.clock.GameClock;
 import nl.tudelft.jpacman.level.specialbox.BridgeBox;
 import nl.tudelft.jpacman.level.specialbox.TeleporterBox;
 import nl.tudelft.jpacman.level.specialbox.TrapBox;
@@ -61,6 +63,17 @@ public class LevelFactory {
      */
     private final ArrayList<TeleporterBox> teleporters;
 
+    /**
+     * The clock shared by the created levels, or <code>null</code> if each
+     * level runs on its own real time clock.
+     */
+    private final GameClock clock;
+
+    /**
+     * The stream from which the stream of every created level is split.
+     */
+    private final SplittableRandom random;
+
     /**
      * Creates a new level factory.
      *
@@ -70,9 +83,48 @@ public class LevelFactory {
      *            The factory providing ghosts.
      */
     public LevelFactory(PacManSprites spriteStore, GhostFactory ghostFactory) {
+        this(spriteStore, ghostFactory, null);
+    }
+
+    /**
+     * Creates a new level factory whose levels all run on the same clock.
+     *
+     * @param spriteStore
+     *            The sprite store providing the sprites for units.
+     * @param ghostFactory
+     *            The factory providing ghosts.
+     * @param clock
+     *            The clock shared by the created levels, or
+     *            <code>null</code> to let each level create its own one.
+     */
+    public LevelFactory(PacManSprites spriteStore, GhostFactory ghostFactory,
+                        GameClock clock) {
+        this(spriteStore, ghostFactory, clock, null);
+    }
+
+    /**
+     * Creates a new level factory whose levels all run on the same clock and
+     * draw their random choices from streams split from the given one.
+     *
+     * @param spriteStore
+     *            The sprite store providing the sprites for units.
+     * @param ghostFactory
+     *            The factory providing ghosts.
+     * @param clock
+     *            The clock shared by the created levels, or
+     *            <code>null</code> to let each level create its own one.
+     * @param random
+     *            The stream to split the level streams from, seeded for
+     *            reproducible levels, or <code>null</code> for an unseeded
+     *            one.
+     */
+    public LevelFactory(PacManSprites spriteStore, GhostFactory ghostFactory,
+                        GameClock clock, SplittableRandom random) {
         this.sprites = spriteStore;
         this.ghostIndex = -1;
         this.ghostFact = ghostFactory;
+        this.clock = clock;
+        this.random = random == null ? new SplittableRandom() : random;
 
         this.teleporters = new ArrayList<>();
     }
@@ -95,7 +147,8 @@ public class LevelFactory {
         //CollisionMap collisionMap = new PlayerCollisions();
         //Not SIMPLE SAM
         DefaultPlayerInteractionMap collisionMap = new DefaultPlayerInteractionMap();
-        Level level = new Level(board, ghosts, startPositions, collisionMap);
+        Level level = new Level(board, ghosts, startPositions, collisionMap, clock,
+            random.split());
 
         SpecialUnitySpawner spawner = new SpecialUnitySpawner(this);
 
@@ -151,7 +204,7 @@ public class LevelFactory {
      * @return a fruit.
      */
     public FruitPellet createFruitPellet(FruitPellet.FruitType fruit){
-        return new FruitPellet(PELLET_VALUE, sprites.loadSprite(fruit.spritePath));
+        return new FruitPellet(PELLET_VALUE, sprites.loadSprite(fruit.spritePath), fruit);
     }
 
     // Special Boxes
@@ -0,0 +1,145 @@
+package nl.tudelft.jpacman.level;
+
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+import nl.tudelft.jpacman.board.Board;
+
+/**
+ * The checked layout of a map: the character of every square, in the
+ * format of {@link MapParser#parseMap(List)}. A template is read and
+ * checked once, with {@link Board#isConnected} as
+ * {@link Board#checkGrid()} checks a board, and then shared: every level
+ * built from it by {@link MapParser#createLevel(LevelTemplate)} gets squares
+ * and units of its own, while no text is read or checked again.
+ * <p>
+ * Templates are immutable and can be shared between threads.
+ */
+public final class LevelTemplate {
+
+    /**
+     * The characters a square can be written as.
+     */
+    private static final String CHARACTERS = " #.0ACMOSxo|-gpthfGP";
+
+    /**
+     * The character of a wall.
+     */
+    static final char WALL = '#';
+
+    /**
+     * The character of a square without units.
+     */
+    static final char GROUND = ' ';
+
+    private final int width;
+    private final int height;
+
+    /**
+     * The character of every square, row by row, possibly followed by room
+     * that is not used.
+     */
+    private final char[] cells;
+
+    /**
+     * Creates a template from the characters of its squares.
+     *
+     * @param width
+     *            The number of columns.
+     * @param height
+     *            The number of rows.
+     * @param cells
+     *            The character of every square, row by row, owned by the
+     *            template from now on. Characters past the last row are
+     *            ignored.
+     * @param connected
+     *            <code>true</code> if all squares that are not walls were
+     *            already checked to be reachable from each other.
+     * @throws PacmanConfigurationException If a character is not known, or a
+     *             square that is not a wall cannot be reached.
+     */
+    LevelTemplate(int width, int height, char[] cells, boolean connected) {
+        assert cells.length >= width * height;
+        check(width, height, index -> cells[index], connected);
+        this.width = width;
+        this.height = height;
+        this.cells = cells;
+    }
+
+    /**
+     * Checks a map as every template is checked, wherever its characters
+     * are kept.
+     *
+     * @param width
+     *            The number of columns.
+     * @param height
+     *            The number of rows.
+     * @param cells
+     *            Gives the character of the square at
+     *            <code>y * width + x</code>.
+     * @param connected
+     *            <code>true</code> if all squares that are not walls were
+     *            already checked to be reachable from each other.
+     * @throws PacmanConfigurationException If a character is not known, or a
+     *             square that is not a wall cannot be reached.
+     */
+    static void check(int width, int height, IntUnaryOperator cells, boolean connected) {
+        for (int index = 0; index < width * height; index++) {
+            char c = (char) cells.applyAsInt(index);
+            if (CHARACTERS.indexOf(c) < 0) {
+                throw new PacmanConfigurationException("Invalid character at "
+                    + index % width + "," + index / width + ": " + c);
+            }
+        }
+        if (!connected
+            && !Board.isConnected(width, height, index -> cells.applyAsInt(index) != WALL)) {
+            throw new PacmanConfigurationException(
+                "All squares of the board are not accessible by PacMan !");
+        }
+    }
+
+    /**
+     * Reads and checks the rows of a map.
+     *
+     * @param text
+     *            The rows of the map, top row first, all equally wide.
+     * @return The template of the map.
+     * @throws PacmanConfigurationException If the text is not a valid map.
+     */
+    public static LevelTemplate of(List<String> text) {
+        if (text == null) {
+            throw new PacmanConfigurationException("Input text cannot be null.");
+        }
+        MapParser.RowParser rows = new MapParser.RowParser();
+        for (String line : text) {
+            rows.addRow(line);
+        }
+        return rows.finish();
+    }
+
+    /**
+     * @return The number of columns.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return The number of rows.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @param x
+     *            The column of a square.
+     * @param y
+     *            The row of a square.
+     * @return The character of the square.
+     */
+    char charAt(int x, int y) {
+        return cells[y * width + x];
+    }
+}
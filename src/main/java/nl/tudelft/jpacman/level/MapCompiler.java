@@ -0,0 +1,230 @@
+package nl.tudelft.jpacman.level;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+
+/**
+ * Compiles text maps, in the format of {@link MapParser#parseMap(List)},
+ * into a compact binary file that {@link #read(InputStream)} turns into a
+ * {@link LevelTemplate} without reading text or checking it again.
+ * <p>
+ * A compiled map holds, in big-endian order:
+ * <ul>
+ * <li>a header: the magic number {@link #MAGIC}, the version
+ * {@link #VERSION} and the flags as shorts, then the width and height as
+ * ints;</li>
+ * <li>the terrain: one bit per square, row by row, set for walls, padded
+ * to whole bytes;</li>
+ * <li>the units: one byte for every square that is not a wall, row by row,
+ * 0 for plain ground and the code of its character otherwise.</li>
+ * </ul>
+ * Positions are not written, so a map takes about as many bytes as it has
+ * open squares, less than its text.
+ * Units keep their character, so {@link MapParser#createLevel(LevelTemplate)}
+ * numbers ghosts, start positions and teleporters as for the text, and
+ * bridges keep their direction.
+ * <p>
+ * Templates are checked for every square that is not a wall to be
+ * reachable from every other one; the compiler records this with
+ * {@link #CONNECTED}, so reading a compiled map skips that check.
+ */
+public final class MapCompiler {
+
+    /**
+     * The extension of compiled map files.
+     */
+    public static final String EXTENSION = ".jpmap";
+
+    /**
+     * The first four bytes of a compiled map, "JPMC".
+     */
+    private static final int MAGIC = 0x4A504D43;
+
+    /**
+     * The version of the format written.
+     */
+    private static final short VERSION = 2;
+
+    /**
+     * The flag set when all squares that are not walls are connected.
+     */
+    private static final short CONNECTED = 1;
+
+    /**
+     * The characters of the squares with units, their code being their
+     * index plus one.
+     */
+    private static final String UNIT_CHARACTERS = ".0ACMOSxo|-gpthfGP";
+
+    private static final int BITS_PER_BYTE = 8;
+
+    private MapCompiler() {
+        // only static methods.
+    }
+
+    /**
+     * Compiles a text map file.
+     *
+     * @param source
+     *            The text map.
+     * @param target
+     *            The file to write the compiled map to, replaced if it exists.
+     * @throws IOException
+     *             when the text could not be read or the map not be written.
+     * @throws PacmanConfigurationException If the text is not a valid map.
+     */
+    public static void compile(Path source, Path target) throws IOException {
+        List<String> text = Files.readAllLines(source, StandardCharsets.UTF_8);
+        try (OutputStream output = Files.newOutputStream(target)) {
+            compile(text, output);
+        }
+    }
+
+    /**
+     * Compiles a text map.
+     *
+     * @param text
+     *            The rows of the map, top row first, all equally wide.
+     * @param target
+     *            The stream to write the compiled map to, left open.
+     * @throws IOException
+     *             when the map could not be written.
+     * @throws PacmanConfigurationException If the text is not a valid map.
+     */
+    public static void compile(List<String> text, OutputStream target) throws IOException {
+        write(LevelTemplate.of(text), target);
+    }
+
+    /**
+     * Writes a checked map in the compiled format.
+     *
+     * @param template
+     *            The map to write.
+     * @param target
+     *            The stream to write the compiled map to, left open.
+     * @throws IOException
+     *             when the map could not be written.
+     */
+    public static void write(LevelTemplate template, OutputStream target) throws IOException {
+        int width = template.getWidth();
+        int height = template.getHeight();
+        byte[] walls = new byte[terrainBytes(width, height)];
+        byte[] units = new byte[width * height];
+        int open = 0;
+        for (int index = 0; index < width * height; index++) {
+            char c = template.charAt(index % width, index / width);
+            if (c == LevelTemplate.WALL) {
+                walls[index / BITS_PER_BYTE] |= 1 << index % BITS_PER_BYTE;
+            } else {
+                units[open++] = (byte) (UNIT_CHARACTERS.indexOf(c) + 1);
+            }
+        }
+
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(target));
+        output.writeInt(MAGIC);
+        output.writeShort(VERSION);
+        output.writeShort(CONNECTED);
+        output.writeInt(width);
+        output.writeInt(height);
+        output.write(walls);
+        output.write(units, 0, open);
+        output.flush();
+    }
+
+    /**
+     * Reads a compiled map. Its squares are only checked to be connected if
+     * the compiler did not.
+     *
+     * @param source
+     *            The compiled map, positioned at its start and left open,
+     *            possibly read beyond the end of the map.
+     * @return The template of the map.
+     * @throws IOException
+     *             when the map could not be read.
+     * @throws PacmanConfigurationException If the source is not a compiled map
+     *             of this version.
+     */
+    public static LevelTemplate read(InputStream source) throws IOException {
+        DataInputStream input = new DataInputStream(new BufferedInputStream(source));
+        short flags = readHeader(input);
+        int width = input.readInt();
+        int height = input.readInt();
+        if (width <= 0 || height <= 0 || (long) width * height > Integer.MAX_VALUE) {
+            throw new PacmanConfigurationException(
+                "Compiled map has an invalid size: " + width + " by " + height + ".");
+        }
+        byte[] walls = new byte[terrainBytes(width, height)];
+        input.readFully(walls);
+
+        char[] cells = new char[width * height];
+        for (int index = 0; index < cells.length; index++) {
+            cells[index] = isWall(walls, index)
+                ? LevelTemplate.WALL : characterOf(input.readUnsignedByte());
+        }
+        return new LevelTemplate(width, height, cells, (flags & CONNECTED) != 0);
+    }
+
+    /**
+     * Reads the header of a compiled map and checks it is one this version
+     * can load.
+     *
+     * @param input
+     *            The compiled map, positioned at its start.
+     * @return The flags of the map.
+     * @throws IOException
+     *             when the map could not be read.
+     * @throws PacmanConfigurationException If the input is not a compiled map
+     *             of this version.
+     */
+    private static short readHeader(DataInputStream input) throws IOException {
+        if (input.readInt() != MAGIC) {
+            throw new PacmanConfigurationException("Input is not a compiled map.");
+        }
+        short version = input.readShort();
+        if (version != VERSION) {
+            throw new PacmanConfigurationException(
+                "Compiled map has version " + version + " instead of " + VERSION + ".");
+        }
+        return input.readShort();
+    }
+
+    /**
+     * Decodes the character of a square that is not a wall.
+     *
+     * @param code
+     *            The code of the unit on the square, as written, 0 if none.
+     * @return The character of the square in a text map.
+     * @throws PacmanConfigurationException If the code is not known.
+     */
+    private static char characterOf(int code) {
+        if (code > UNIT_CHARACTERS.length()) {
+            throw new PacmanConfigurationException("Invalid unit code in compiled map: " + code);
+        }
+        return code == 0 ? LevelTemplate.GROUND : UNIT_CHARACTERS.charAt(code - 1);
+    }
+
+    /**
+     * Checks whether a map has its wall bit set at a position.
+     */
+    private static boolean isWall(byte[] walls, int index) {
+        return (walls[index / BITS_PER_BYTE] & 1 << index % BITS_PER_BYTE) != 0;
+    }
+
+    /**
+     * @return The number of bytes of the terrain of a map.
+     */
+    private static int terrainBytes(int width, int height) {
+        return (int) (((long) width * height + BITS_PER_BYTE - 1) / BITS_PER_BYTE);
+    }
+}
@@ -1,6 +1,8 @@
 package nl.tudelft.jpacman.level;
 
+import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.event.GameEvent;
 import nl.tudelft.jpacman.sprite.Sprite;
 
 /**
@@ -49,7 +51,12 @@ public class Pellet extends Unit {
      * @param player who eat this pellet
      */
     public void onEat(Level level, Player player){
+        Square square = this.hasSquare() ? this.getSquare() : null;
         this.leaveSquare();
         player.addPoints(this.getValue());
+        if (level != null) {
+            level.pelletEaten();
+            level.publish(GameEvent.Type.PELLET_EATEN, player, square, this.getValue());
+        }
     }
 }
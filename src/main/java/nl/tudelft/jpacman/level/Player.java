@@ -22,6 +22,8 @@ public class Player extends Unit {
      */
     private static final float PLAYER_SPEED = 10f;
 
+    private static final float MILLIS_PER_SECOND = 1000f;
+
     /**
      * The amount of points accumulated by this player.
      */
@@ -130,6 +132,7 @@ public class Player extends Unit {
                 this.alive= true;
             }
         }
+        markDirty();
     }
 
     /**
@@ -182,6 +185,7 @@ public class Player extends Unit {
      */
     public void setSprite(Map<Direction, Sprite> sprites) {
         this.sprites = sprites;
+        markDirty();
     }
 
     /**
@@ -189,6 +193,7 @@ public class Player extends Unit {
      */
     public void resetSprite(){
         this.sprites = this.basic_sprite;
+        markDirty();
     }
 
     /**
@@ -244,6 +249,12 @@ public class Player extends Unit {
         return this.speed * this.speedModifier;
     }
 
+    @Override
+    protected long getMoveTime() {
+        float currentSpeed = getSpeed();
+        return currentSpeed > 0 ? (long) (MILLIS_PER_SECOND / currentSpeed) : 0L;
+    }
+
     /**
      * Get the current special state {@link SpecialStates}.
      * @return the current special state with {@link SpecialStates#NONE} meaning no special state currently applied.
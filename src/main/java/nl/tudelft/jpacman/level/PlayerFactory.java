@@ -38,6 +38,16 @@ public class PlayerFactory {
      * @return a new player for method testing.
      */
     public Player createTestPacMand(){
+        return createSpritelessPacMan();
+    }
+
+    /**
+     * Creates a player without sprites, which needs no factory or sprite
+     * store, to check which squares a player can reach.
+     *
+     * @return a new player without sprites.
+     */
+    public static Player createSpritelessPacMan() {
         return new Player();
     }
 
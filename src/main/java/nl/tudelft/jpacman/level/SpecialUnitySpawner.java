@@ -2,12 +2,14 @@ package nl.tudelft.jpacman.level;
 
 import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.event.GameEvent;
 import nl.tudelft.jpacman.level.specialbox.SpecialBox;
 import nl.tudelft.jpacman.level.specialbox.TeleporterBox;
 import nl.tudelft.jpacman.level.specialpellet.SpecialPellet;
 
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * A manager to dynamically spawn new special units ({@link SpecialBox} and {@link SpecialPellet}) in a way that
@@ -34,7 +36,7 @@ public class SpecialUnitySpawner {
     private static final float REFERENCE_SCORE = 10000;
     private static final float CAP_SPAWN_CHANCE = 0.7f;
 
-    private final Random rdm = new Random();
+    private SplittableRandom rdm = new SplittableRandom();
     private final LevelFactory levelCreator;
     private Level level;
     private int initNbrPellets;
@@ -59,13 +61,13 @@ public class SpecialUnitySpawner {
      */
     public boolean trySpawnSpecial(float chanceSpawn){
         assert level != null;
-        if (rdm.nextFloat() > chanceSpawn)
+        if (rdm.nextDouble() > chanceSpawn)
             return false;
         int currPlayerScore = (int) Math.min(REFERENCE_SCORE, level.getOnePlayer().getScore());
-        boolean spawnPellet = rdm.nextFloat() < PELLET_CHANCE;
+        boolean spawnPellet = rdm.nextDouble() < PELLET_CHANCE;
         if (spawnPellet){
             float chancePenalty = currPlayerScore / REFERENCE_SCORE; // less score less chance to get penalty
-            Pellet toPlace = rdm.nextFloat() < chancePenalty ? getPenalty() : getBonus();
+            Pellet toPlace = rdm.nextDouble() < chancePenalty ? getPenalty() : getBonus();
             return this.placePellet(toPlace);
         } else {
             return this.placeBox();
@@ -109,7 +111,7 @@ public class SpecialUnitySpawner {
         Square target = this.lastFreeSquares.get(indSel);
         int ind = rdm.nextInt(NBR_BOXES);
         if (ind == 0){
-            levelCreator.createTrapBox().occupy(target);
+            place(levelCreator.createTrapBox(), target);
             return true;
         } else if (ind == 1 && this.lastFreeSquares.size() > 1){
             int oldIndSel = indSel;
@@ -121,11 +123,11 @@ public class SpecialUnitySpawner {
             t1 = levelCreator.createTeleporterBox();
             t2 = levelCreator.createTeleporterBox();
             t1.setLinked(t2);
-            t1.occupy(target);
-            t2.occupy(targetTo);
+            place(t1, target);
+            place(t2, targetTo);
             return true;
         } else if (ind == 2){
-            levelCreator.createBridgeBox(Direction.getRdmDir()).occupy(target);
+            place(levelCreator.createBridgeBox(Direction.getRdmDir(rdm)), target);
             return true;
         }
         return false;
@@ -134,18 +136,26 @@ public class SpecialUnitySpawner {
     private boolean placePellet(Pellet pellet) {
         int indSel = rdm.nextInt(this.lastFreeSquares.size());
         Square target = this.lastFreeSquares.get(indSel);
-        pellet.occupy(target);
+        place(pellet, target);
+        level.pelletPlaced();
         return true;
     }
 
+    private void place(Unit unit, Square target) {
+        unit.occupy(target);
+        level.publish(GameEvent.Type.SPECIAL_SPAWNED, unit, target, 0);
+    }
+
     /**
      * Set the level to consider to spawn new unit in and retrieve material for probabilities computation
      * Reciprocally register this spawner to the given level {@link Level#setSpawner(SpecialUnitySpawner)}.
+     * The spawner draws from its own stream split from the level one.
      *
      * @param level the level to consider
      */
     public void setLevel(Level level){
         this.level = level;
+        this.rdm = level.splitRandom();
         this.initNbrPellets = this.level.remainingPellets();
         this.level.setSpawner(this);
     }
@@ -1,12 +1,10 @@
 package nl.tudelft.jpacman.level.specialbox;
 
 import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.event.GameEvent;
 import nl.tudelft.jpacman.level.Level;
 import nl.tudelft.jpacman.sprite.Sprite;
 
-import java.util.Timer;
-import java.util.TimerTask;
-
 /**
  * A Trap is a special box acting as a penalty when any unit walks on it.
  * It locks the unit on the square for a certain amount of time.
@@ -20,18 +18,12 @@ public class TrapBox extends SpecialBox {
      */
     public static final long BASE_WAITING_TIME = 2000L;
 
-    /**
-     * The timer handling trap effect duration.
-     */
-    private final Timer timer;
-
     /**
      * A Trap locking units for a given time
      * @param sprite the sprite to display
      */
     public TrapBox(Sprite sprite) {
         super(sprite);
-        this.timer = new Timer();
     }
 
     /**
@@ -43,14 +35,19 @@ public class TrapBox extends SpecialBox {
     @Override
     public boolean onTake(Level level, Unit unit){
         unit.setMovable(false);
-        this.timer.schedule(new StopTrapEffect(unit), BASE_WAITING_TIME);
+        level.publish(GameEvent.Type.EFFECT_STARTED, unit, null, (int) BASE_WAITING_TIME);
+        StopTrapEffect stop = new StopTrapEffect(unit);
+        level.scheduleEffect(() -> {
+            stop.run();
+            level.publish(GameEvent.Type.EFFECT_ENDED, unit, null, 0);
+        }, BASE_WAITING_TIME);
         return true;
     }
 
     /**
      * Task to disable trap effect on trapped unit
      */
-    protected class StopTrapEffect extends TimerTask {
+    protected class StopTrapEffect implements Runnable {
 
         protected final Unit unit;
 
@@ -58,7 +55,6 @@ public class TrapBox extends SpecialBox {
          * @param unit the unit to lock
          */
         public StopTrapEffect(Unit unit){
-            super();
             this.unit = unit;
         }
 
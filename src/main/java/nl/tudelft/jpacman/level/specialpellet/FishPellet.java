@@ -1,6 +1,7 @@
 package nl.tudelft.jpacman.level.specialpellet;
 
 import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.board.Unit;
 import nl.tudelft.jpacman.level.Level;
 import nl.tudelft.jpacman.level.Player;
@@ -9,6 +10,7 @@ import nl.tudelft.jpacman.npc.ghost.Navigation;
 import nl.tudelft.jpacman.sprite.PacManSprites;
 import nl.tudelft.jpacman.sprite.Sprite;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -41,7 +43,7 @@ public class FishPellet extends SpecialPellet {
     /**
      * The oriented sprites to modify Pacman skin during effect
      */
-    private static final Map<Direction, Sprite> pacmanSprites = new PacManSprites().getPacmanFishSprites();
+    private static final Map<Direction, Sprite> pacmanSprites = PacManSprites.getShared().getPacmanFishSprites();
 
     /**
      * Creates a new pellet.
@@ -54,19 +56,14 @@ public class FishPellet extends SpecialPellet {
     }
 
     /**
-     * Compute effect duration based on the closes ghost distance, using a complying formula when he's less than
+     * Compute effect duration based on the closest ghost distance, using a complying formula when he's less than
      * {@link #GHOST_DIST_THRESH} away.
-     * @param player the pacman.
+     * @param ghostDist the path length to the closest ghost, or -1 if no ghost can reach pacman.
      * @return the duration effect in milliseconds.
      */
-    private long getDuration(Player player){
-        Unit nearestGhost = Navigation.findNearest(Ghost.class, player.getSquare());
-        if (nearestGhost == null)
+    private static long getDuration(int ghostDist){
+        if (ghostDist < 0)
             return BASIC_DURATION;
-        List<Direction> path = Navigation.shortestPath(nearestGhost.getSquare(), player.getSquare(), nearestGhost);
-        if (path == null)
-            return BASIC_DURATION;
-        int ghostDist = path.size();
         if (ghostDist > GHOST_DIST_THRESH)
             return INCREASED_DURATION;
         // A ghost is close, let's evaluate a approximately fair duration (ghostDist <= THRESH), the closer the ghost is
@@ -76,17 +73,61 @@ public class FishPellet extends SpecialPellet {
     }
 
     /**
-     * Called when this pellet is eaten by a Player (pacman)
+     * Called when this pellet is eaten by a Player (pacman). Pacman is locked right away, the duration depending on
+     * the closest ghost is computed outside the move lock.
      * @param level the current level
      * @param player who eat this pellet
      */
     @Override
     public void onEat(Level level, Player player){
         super.onEat(level, player);
-        long duration = this.getDuration(player);
         player.setMovable(false);
         setNewStatePlayer(player, Player.SpecialStates.ON_FISH, pacmanSprites);
-        scheduleEffectDuration(new StopFishEffect(player), duration);
+        level.defer(new FishDuration(level, player));
+    }
+
+    /**
+     * Computes the duration of the effect from the positions of the ghosts when the fish was eaten, then schedules
+     * its end.
+     */
+    private final class FishDuration implements Level.DeferredEffect {
+
+        private final Level level;
+        private final Player player;
+        private final Square playerSquare;
+        private final List<Ghost> ghosts = new ArrayList<>();
+        private final List<Square> ghostSquares = new ArrayList<>();
+        private long duration = BASIC_DURATION;
+
+        FishDuration(Level level, Player player){
+            this.level = level;
+            this.player = player;
+            this.playerSquare = player.hasSquare() ? player.getSquare() : null;
+            for (Ghost g: level.getGhosts()){
+                if (g.hasSquare()){
+                    ghosts.add(g);
+                    ghostSquares.add(g.getSquare());
+                }
+            }
+        }
+
+        @Override
+        public void resolve(){
+            if (playerSquare == null)
+                return;
+            int closest = -1;
+            for (int i = 0; i < ghosts.size(); i++){
+                List<Direction> path = Navigation.shortestPath(ghostSquares.get(i), playerSquare, ghosts.get(i));
+                if (path != null && (closest < 0 || path.size() < closest))
+                    closest = path.size();
+            }
+            duration = getDuration(closest);
+        }
+
+        @Override
+        public void apply(){
+            scheduleEffectDuration(level, new StopFishEffect(player), duration);
+        }
     }
 
     private class StopFishEffect extends StopEffect{
@@ -1,6 +1,8 @@
 package nl.tudelft.jpacman.level.specialpellet;
 
 import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.event.GameEvent;
 import nl.tudelft.jpacman.level.Level;
 import nl.tudelft.jpacman.level.Pellet;
 import nl.tudelft.jpacman.level.Player;
@@ -42,45 +44,81 @@ public class GrenadePellet extends Pellet {
     }
 
     /**
-     * Retrieve all ghost from the level that are in the explosion range considering its power depending on
-     * remaining lives.
-     *
-     * @param level the level to search into
-     * @param player the player from which explosion comes from
-     * @return a list of ghost in explosion range, so should be killed
+     * Called when this pellet is eaten by a Player (pacman). The ghosts on the square of the player are killed at
+     * once, before they collide with the player; the other ghosts in range are searched for outside the move lock,
+     * from their positions at the time of eating.
+     * @param level the current level
+     * @param player who eat this pellet
      */
-    private static ArrayList<Ghost> getGhostsInRange(Level level, Player player){
-        ArrayList<Ghost> toKill = new ArrayList<>();
-        int range = (MAX_RANGE + 1) - player.getLifeLeft(); // range increase as pacman has less remaining lives
-        range = Math.max(range, MIN_RANGE);
-
-        for(Ghost g: level.getGhosts()){
-            List<Direction> path = Navigation.shortestPath(g.getSquare(), player.getSquare(), g);
-            if (path != null && path.size() <= range)
-                toKill.add(g);
-        }
-        return toKill;
+    @Override
+    public void onEat(Level level, Player player){
+        super.onEat(level, player);
+        level.defer(new Explosion(level, player));
     }
 
     /**
-     * Make a player kill a list of ghost (earning score as it was eating them in a row).
-     * @param toKill the list of ghosts to kill
-     * @param player the player considered as ghosts killer
+     * The explosion of an eaten grenade, killing the ghosts that were in range when it was eaten.
      */
-    private static void killGhosts(ArrayList<Ghost> toKill, Player player){
-        for (Ghost g: toKill){
+    private static final class Explosion implements Level.DeferredEffect {
+
+        private final Level level;
+        private final Player player;
+        private final Square center;
+        private final int range;
+        private final List<Ghost> ghosts = new ArrayList<>();
+        private final List<Square> ghostSquares = new ArrayList<>();
+        private final List<Ghost> toKill = new ArrayList<>();
+
+        /**
+         * Kills the ghosts on the square of the player and takes a snapshot of the positions of the others. The range
+         * increases as pacman has less remaining lives.
+         * @param level the level to search into
+         * @param player the player from which explosion comes from
+         */
+        Explosion(Level level, Player player){
+            this.level = level;
+            this.player = player;
+            this.center = player.hasSquare() ? player.getSquare() : null;
+            this.range = Math.max((MAX_RANGE + 1) - player.getLifeLeft(), MIN_RANGE);
+            for (Ghost g: level.getGhosts()){
+                if (!g.hasSquare())
+                    continue;
+                if (g.getSquare() == center){
+                    kill(g);
+                } else {
+                    ghosts.add(g);
+                    ghostSquares.add(g.getSquare());
+                }
+            }
+        }
+
+        private void kill(Ghost g){
             player.killGhost(g);
+            level.publish(GameEvent.Type.GHOST_KILLED, g, null, 0);
         }
-    }
 
-    /**
-     * Called when this pellet is eaten by a Player (pacman)
-     * @param level the current level
-     * @param player who eat this pellet
-     */
-    @Override
-    public void onEat(Level level, Player player){
-        super.onEat(level, player);
-        killGhosts(getGhostsInRange(level, player), player);
+        /**
+         * Retrieve all ghosts that were in the explosion range.
+         */
+        @Override
+        public void resolve(){
+            if (center == null)
+                return;
+            for (int i = 0; i < ghosts.size(); i++){
+                List<Direction> path = Navigation.shortestPath(ghostSquares.get(i), center, ghosts.get(i));
+                if (path != null && path.size() <= range)
+                    toKill.add(ghosts.get(i));
+            }
+        }
+
+        /**
+         * Make the player kill the ghosts in range (earning score as it was eating them in a row).
+         */
+        @Override
+        public void apply(){
+            for (Ghost g: toKill){
+                kill(g);
+            }
+        }
     }
 }
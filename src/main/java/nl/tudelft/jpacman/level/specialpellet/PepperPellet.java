@@ -45,7 +45,7 @@ public class PepperPellet extends SpecialPellet {
     /**
      * The oriented sprites to modify Pacman skin during effect
      */
-    private static final Map<Direction, Sprite> pacmanSprites = new PacManSprites().getPacmanPepperSprites();
+    private static final Map<Direction, Sprite> pacmanSprites = PacManSprites.getShared().getPacmanPepperSprites();
 
 
     /**
@@ -80,7 +80,7 @@ public class PepperPellet extends SpecialPellet {
         long duration = this.getDuration(player);
         this.setPlayerSpeedModifier(level, player);
         setNewStatePlayer(player, Player.SpecialStates.ON_PEPPER, pacmanSprites);
-        scheduleEffectDuration(player, duration); // the default reset at the end will reset speedModifier
+        scheduleEffectDuration(level, player, duration); // the default reset at the end will reset speedModifier
     }
 
 }
@@ -42,7 +42,7 @@ public class PotatoPellet extends SpecialPellet {
     /**
      * The oriented sprites to modify Pacman skin during effect
      */
-    private static final Map<Direction, Sprite> pacmanSprites = new PacManSprites().getPacmanPotatoSprites();
+    private static final Map<Direction, Sprite> pacmanSprites = PacManSprites.getShared().getPacmanPotatoSprites();
 
     /**
      * Creates a new pellet.
@@ -81,7 +81,7 @@ public class PotatoPellet extends SpecialPellet {
         long duration = this.getDuration(player);
         increaseGhostsSpeed(level);
         setNewStatePlayer(player, Player.SpecialStates.ON_POTATO, pacmanSprites);
-        scheduleEffectDuration(new StopPotatoEffect(player, level), duration);
+        scheduleEffectDuration(level, new StopPotatoEffect(player, level), duration);
     }
 
     /**
@@ -1,13 +1,13 @@
 package nl.tudelft.jpacman.level.specialpellet;
 
 import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.event.GameEvent;
+import nl.tudelft.jpacman.level.Level;
 import nl.tudelft.jpacman.level.Pellet;
 import nl.tudelft.jpacman.level.Player;
 import nl.tudelft.jpacman.sprite.Sprite;
 
 import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
 
 /**
  * A special pellet can give bonus/penalty to Pacman when eaten (behaviour defined by subclassing). The effect has a
@@ -18,11 +18,6 @@ import java.util.TimerTask;
  */
 public class SpecialPellet extends Pellet {
 
-    /**
-     * The timer handling special effect duration.
-     */
-    private final Timer timer;
-
     /**
      * Creates a new pellet.
      *
@@ -31,7 +26,6 @@ public class SpecialPellet extends Pellet {
      */
     public SpecialPellet(int points, Sprite sprite) {
         super(points, sprite);
-        this.timer = new Timer();
     }
 
     /**
@@ -48,29 +42,35 @@ public class SpecialPellet extends Pellet {
 
     /**
      * Instantiate a new {@link StopEffect} task that will reset player state after a duration.
+     * @param level the level whose scheduler times the effect
      * @param player the player to reset default special state (to {@link Player.SpecialStates#NONE}) and sprites he
      *               used at instantiation.
      * @param durationMs the time in millisecond to pass before stopping any special effect (reset).
      */
-    protected void scheduleEffectDuration(Player player, long durationMs){
-        this.timer.schedule(new StopEffect(player), durationMs);
+    protected void scheduleEffectDuration(Level level, Player player, long durationMs){
+        scheduleEffectDuration(level, new StopEffect(player), durationMs);
     }
 
     /**
      * Specify a customized action to handle at the en of the effect.
-     * @see #scheduleEffectDuration(Player, long)
+     * @see #scheduleEffectDuration(Level, Player, long)
+     * @param level the level whose scheduler times the effect
      * @param stopTask should be a specialized subclass of {@link StopEffect}.
      * @param durationMs
      */
-    protected void scheduleEffectDuration(StopEffect stopTask, long durationMs){
-        this.timer.schedule(stopTask, durationMs);
+    protected void scheduleEffectDuration(Level level, StopEffect stopTask, long durationMs){
+        level.publish(GameEvent.Type.EFFECT_STARTED, stopTask.player, null, (int) durationMs);
+        level.scheduleEffect(() -> {
+            stopTask.run();
+            level.publish(GameEvent.Type.EFFECT_ENDED, stopTask.player, null, 0);
+        }, durationMs);
     }
 
     /**
      * A task handled when the special effect duration expires, generic and complying with most of special effects.
      * semantic.
      */
-    protected class StopEffect extends TimerTask {
+    protected class StopEffect implements Runnable {
 
         protected final Player player;
 
@@ -78,7 +78,6 @@ public class SpecialPellet extends Pellet {
          * @param player the Pacman on which the effect has been activated.
          */
         public StopEffect(Player player){
-            super();
             this.player = player;
         }
 
@@ -35,7 +35,7 @@ public class TomatoPellet extends SpecialPellet {
     /**
      * The oriented sprites to modify Pacman skin during effect
      */
-    private static final Map<Direction, Sprite> pacmanSprites = new PacManSprites().getPacmanTomatoSprites();
+    private static final Map<Direction, Sprite> pacmanSprites = PacManSprites.getShared().getPacmanTomatoSprites();
 
 
     /**
@@ -58,7 +58,7 @@ public class TomatoPellet extends SpecialPellet {
         super.onEat(level, player);
         long duration = player.getLifeLeft() > LIFE_THRESH_DURATION ? BASIC_DURATION : INCREASED_DURATION;
         setNewStatePlayer(player, Player.SpecialStates.ON_TOMATO, pacmanSprites); // collisions take this state into account
-        scheduleEffectDuration(player, duration);
+        scheduleEffectDuration(level, player, duration);
     }
 
 }
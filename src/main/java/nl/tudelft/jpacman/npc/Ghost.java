@@ -7,11 +7,9 @@ import nl.tudelft.jpacman.npc.ghost.GhostFactory;
 import nl.tudelft.jpacman.sprite.PacManSprites;
 import nl.tudelft.jpacman.sprite.Sprite;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * A non-player unit.
@@ -25,6 +23,11 @@ public abstract class Ghost extends Unit {
      */
     private static final String SCARED_GHOST_SRPITES_NAME = "vul_blue";
 
+    /**
+     * All directions, cached since {@link Direction#values()} copies them.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
     /**
      * The sprite map, one sprite for each direction.
      */
@@ -55,6 +58,12 @@ public abstract class Ghost extends Unit {
      */
     private boolean isScared;
 
+    /**
+     * The random stream of this ghost, used for its move intervals and
+     * random moves.
+     */
+    private SplittableRandom random;
+
     /**
      * Calculates the next move for this unit and returns the direction to move
      * in.
@@ -88,12 +97,32 @@ public abstract class Ghost extends Unit {
      */
     protected Ghost(Map<Direction, Sprite> spriteMap, int moveInterval, int intervalVariation) {
         this.sprites = spriteMap;
-        this.scaredGhostSprites = new PacManSprites().getGhostSprite(SCARED_GHOST_SRPITES_NAME);
+        this.scaredGhostSprites = PacManSprites.getShared().getGhostSprite(SCARED_GHOST_SRPITES_NAME);
         this.intervalVariation = intervalVariation;
         this.moveInterval = moveInterval;
         this.speedMultiplier = 1f;
 
         this.isScared = false;
+        this.random = new SplittableRandom();
+    }
+
+    /**
+     * Sets the random stream of this ghost, typically split from the stream
+     * of its level to make runs reproducible.
+     *
+     * @param random
+     *            The stream used only by this ghost.
+     */
+    public void setRandom(SplittableRandom random) {
+        assert random != null;
+        this.random = random;
+    }
+
+    /**
+     * @return The random stream of this ghost.
+     */
+    protected SplittableRandom getRandom() {
+        return random;
     }
 
     @Override
@@ -134,10 +163,20 @@ public abstract class Ghost extends Unit {
      */
     public long getInterval() {
         float speedToTime = 1 / this.speedMultiplier;
-        float baseTime = (float) this.moveInterval + new Random().nextInt(this.intervalVariation);
+        int variation = this.intervalVariation > 0 ? random.nextInt(this.intervalVariation) : 0;
+        float baseTime = (float) this.moveInterval + variation;
         return (long) (baseTime * speedToTime);
     }
 
+    /**
+     * Takes the interval between moves without its random variation, so
+     * drawing a ghost does not consume its random stream.
+     */
+    @Override
+    protected long getMoveTime() {
+        return (long) (this.moveInterval / this.speedMultiplier);
+    }
+
     /**
      * Determines a possible move in a random direction.
      *
@@ -146,17 +185,22 @@ public abstract class Ghost extends Unit {
      */
     protected Direction randomMove() {
         Square square = getSquare();
-        List<Direction> directions = new ArrayList<>();
-        for (Direction direction : Direction.values()) {
+        int accessible = 0;
+        for (Direction direction : DIRECTIONS) {
             if (square.getSquareAt(direction).isAccessibleTo(this)) {
-                directions.add(direction);
+                accessible++;
             }
         }
-        if (directions.isEmpty()) {
+        if (accessible == 0) {
             return null;
         }
-        int i = new Random().nextInt(directions.size());
-        return directions.get(i);
+        int i = random.nextInt(accessible);
+        for (Direction direction : DIRECTIONS) {
+            if (square.getSquareAt(direction).isAccessibleTo(this) && i-- == 0) {
+                return direction;
+            }
+        }
+        return null;
     }
 
     /**
@@ -174,6 +218,7 @@ public abstract class Ghost extends Unit {
     public void setScared(boolean isScared){
         this.isScared = isScared;
         this.speedMultiplier = 0.5f; // ghost speed lowered
+        markDirty();
     }
 
     @Override
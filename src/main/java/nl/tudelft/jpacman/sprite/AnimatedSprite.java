@@ -2,9 +2,14 @@ package nl.tudelft.jpacman.sprite;
 
 import java.awt.Graphics;
 
+import nl.tudelft.jpacman.clock.FrameClock;
+import nl.tudelft.jpacman.clock.GameClock;
+
 /**
  * Animated sprite, renders the frame depending on the time of requesting the
- * draw.
+ * draw. The frame is computed from the time the animation started, so it
+ * takes the same time however long the animation ran, and a sprite may be
+ * drawn from several threads at once.
  *
  * @author Jeroen Roosen 
  */
@@ -31,19 +36,15 @@ public class AnimatedSprite implements Sprite {
     private final boolean looping;
 
     /**
-     * The index of the current frame.
+     * The clock telling the time of the animation.
      */
-    private int current;
+    private final GameClock clock;
 
     /**
-     * Whether this sprite is currently animating or not.
+     * The frame the animation is at since a moment in time, replaced as a
+     * whole so the current frame can be computed from any thread.
      */
-    private boolean animating;
-
-    /**
-     * The {@link System#currentTimeMillis()} stamp of the last update.
-     */
-    private long lastUpdate;
+    private volatile Phase phase;
 
     /**
      * Creates a new animating sprite that will change frames every interval. By
@@ -73,81 +74,123 @@ public class AnimatedSprite implements Sprite {
      *            Whether or not this sprite is animating from the start.
      */
     public AnimatedSprite(Sprite[] frames, int delay, boolean loop, boolean isAnimating) {
+        this(frames, delay, loop, isAnimating, FrameClock.system());
+    }
+
+    /**
+     * Creates a new animating sprite that will change frames every interval
+     * of the given clock.
+     *
+     * @param frames
+     *            The frames of this animation.
+     * @param delay
+     *            The delay between frames.
+     * @param loop
+     *            Whether or not this sprite should be looping.
+     * @param isAnimating
+     *            Whether or not this sprite is animating from the start.
+     * @param clock
+     *            The clock telling the time of the animation.
+     */
+    public AnimatedSprite(Sprite[] frames, int delay, boolean loop, boolean isAnimating,
+                          GameClock clock) {
         assert frames.length > 0;
+        assert clock != null;
 
         this.animationFrames = frames.clone();
-        this.animationDelay = delay;
+        this.animationDelay = Math.max(1, delay);
         this.looping = loop;
-        this.animating = isAnimating;
+        this.clock = clock;
+        this.phase = new Phase(clock.currentTimeMillis(), 0, isAnimating);
+    }
 
-        this.current = 0;
-        this.lastUpdate = System.currentTimeMillis();
+    /**
+     * Computes the index of the frame shown at a given time, in constant
+     * time however long ago the phase started.
+     *
+     * @param current
+     *            The phase of the animation.
+     * @param now
+     *            The clock time.
+     * @return The index of the frame, equal to the number of frames after
+     *         the end of a non-looping animation.
+     */
+    private int frameAt(Phase current, long now) {
+        if (!current.animating || now <= current.start) {
+            return current.frame;
+        }
+        long steps = (now - current.start + animationDelay - 1) / animationDelay;
+        if (looping) {
+            return (int) ((current.frame + steps) % animationFrames.length);
+        }
+        return (int) Math.min(current.frame + steps, animationFrames.length);
     }
 
     /**
-     * @return The frame of the current index.
+     * @return The frame shown at the current time.
      */
     private Sprite currentSprite() {
+        int index = frameAt(phase, clock.currentTimeMillis());
         Sprite result = END_OF_LOOP;
-        if (current < animationFrames.length) {
-            result = animationFrames[current];
+        if (index < animationFrames.length) {
+            result = animationFrames[index];
         }
         assert result != null;
         return result;
     }
 
     /**
-     * Starts or stops the animation of this sprite.
+     * Starts or stops the animation of this sprite. A stopped animation
+     * keeps showing its current frame and continues from it when started.
      *
      * @param isAnimating
      *            <code>true</code> to animate this sprite or <code>false</code>
      *            to stop animating this sprite.
      */
     public void setAnimating(boolean isAnimating) {
-        this.animating = isAnimating;
+        Phase current = phase;
+        if (current.animating == isAnimating) {
+            return;
+        }
+        long now = clock.currentTimeMillis();
+        phase = new Phase(now, frameAt(current, now), isAnimating);
+    }
+
+    /**
+     * @return <code>true</code> iff this sprite is currently animating, so
+     *         it may look different every time it is drawn.
+     */
+    public boolean isAnimating() {
+        Phase current = phase;
+        return current.animating && (looping
+            || frameAt(current, clock.currentTimeMillis()) < animationFrames.length);
     }
 
     /**
      * (Re)starts the current animation.
      */
     public void restart() {
-        this.current = 0;
-        this.lastUpdate = System.currentTimeMillis();
-        setAnimating(true);
+        phase = new Phase(clock.currentTimeMillis(), 0, true);
+    }
+
+    /**
+     * @return The frame of this animation to show at the current time, an
+     *         empty sprite after the end of a non-looping animation.
+     */
+    public Sprite getCurrentFrame() {
+        return currentSprite();
     }
 
     @Override
     public void draw(Graphics graphics, int x, int y, int width, int height) {
-        update();
         currentSprite().draw(graphics, x, y, width, height);
     }
 
     @Override
     public Sprite split(int x, int y, int width, int height) {
-        update();
         return currentSprite().split(x, y, width, height);
     }
 
-    /**
-     * Updates the current frame index depending on the current system time.
-     */
-    private void update() {
-        long now = System.currentTimeMillis();
-        if (animating) {
-            while (lastUpdate < now) {
-                lastUpdate += animationDelay;
-                current++;
-                if (looping) {
-                    current %= animationFrames.length;
-                } else if (current == animationFrames.length) {
-                    animating = false;
-                }
-            }
-        } else {
-            lastUpdate = now;
-        }
-    }
-
     @Override
     public int getWidth() {
         assert currentSprite() != null;
@@ -160,4 +203,34 @@ public class AnimatedSprite implements Sprite {
         return currentSprite().getHeight();
     }
 
+    /**
+     * The frame an animation showed at a moment in time, and whether it
+     * advanced from there.
+     */
+    private static final class Phase {
+
+        /**
+         * The clock time at which the animation showed {@link #frame}.
+         */
+        private final long start;
+
+        /**
+         * The index of the frame shown at {@link #start}.
+         */
+        private final int frame;
+
+        /**
+         * Whether the animation advances after {@link #start}.
+         */
+        private final boolean animating;
+
+        /**
+         * Creates a new phase.
+         */
+        Phase(long start, int frame, boolean animating) {
+            this.start = start;
+            this.frame = frame;
+            this.animating = animating;
+        }
+    }
 }
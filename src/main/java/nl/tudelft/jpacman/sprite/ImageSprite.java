@@ -1,6 +1,7 @@
 package nl.tudelft.jpacman.sprite;
 
 import java.awt.Graphics;
+import java.awt.Graphics2D;
 import java.awt.GraphicsConfiguration;
 import java.awt.GraphicsEnvironment;
 import java.awt.Image;
@@ -14,11 +15,32 @@ import java.awt.image.BufferedImage;
  */
 public class ImageSprite implements Sprite {
 
+    /**
+     * The number of sizes the scaled image, and its pixels, are kept at. A
+     * sprite is drawn at a few sizes at most, say in a window and a preview,
+     * and those should not replace each other every frame.
+     */
+    static final int CACHED_SIZES = 4;
+
     /**
      * Internal image.
      */
     private final Image image;
 
+    /**
+     * The image scaled to the sizes it was last drawn at, most recent first.
+     * Replaced, never modified, when another size is added or an older size
+     * is drawn again.
+     */
+    private volatile ScaledImage[] scaled = new ScaledImage[0];
+
+    /**
+     * The pixels of the image scaled to the sizes they were last requested
+     * at, most recent first. Replaced, never modified, when another size is
+     * added or an older size is requested again.
+     */
+    private volatile ScaledImage[] pixels = new ScaledImage[0];
+
     /**
      * Creates a new sprite from an image.
      *
@@ -31,13 +53,142 @@ public class ImageSprite implements Sprite {
 
     @Override
     public void draw(Graphics graphics, int x, int y, int width, int height) {
-        graphics.drawImage(image, x, y, x + width, y + height, 0, 0,
-            image.getWidth(null), image.getHeight(null), null);
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        if (width == image.getWidth(null) && height == image.getHeight(null)) {
+            graphics.drawImage(image, x, y, null);
+            return;
+        }
+        graphics.drawImage(getScaled(width, height), x, y, null);
+    }
+
+    /**
+     * Returns this sprite scaled to the given size, scaling it only if it was
+     * not drawn at that size recently.
+     *
+     * @param width
+     *            The width to scale to.
+     * @param height
+     *            The height to scale to.
+     * @return The scaled image.
+     */
+    private Image getScaled(int width, int height) {
+        ScaledImage[] cache = scaled;
+        int index = indexOf(cache, width, height);
+        ScaledImage current;
+        if (index >= 0) {
+            current = cache[index];
+            if (index > 0) {
+                scaled = toFront(cache, index);
+            }
+        } else {
+            BufferedImage newImage = newImage(width, height);
+            Graphics2D graphics = newImage.createGraphics();
+            try {
+                graphics.drawImage(image, 0, 0, width, height, 0, 0,
+                    image.getWidth(null), image.getHeight(null), null);
+            } finally {
+                graphics.dispose();
+            }
+            current = new ScaledImage(newImage, width, height);
+            scaled = add(cache, current);
+        }
+        return current.image;
+    }
+
+    /**
+     * Returns the pixels of this sprite scaled to the given size, as packed
+     * ARGB values row by row. The pixels are extracted once per size, as
+     * long as the size stays among the {@link #CACHED_SIZES} most recent
+     * ones, so callers must not modify the array.
+     *
+     * @param width
+     *            The width to scale to.
+     * @param height
+     *            The height to scale to.
+     * @return The <code>width * height</code> scaled pixels.
+     */
+    public int[] getPixels(int width, int height) {
+        assert width > 0 && height > 0;
+        ScaledImage[] cache = pixels;
+        int index = indexOf(cache, width, height);
+        ScaledImage current;
+        if (index >= 0) {
+            current = cache[index];
+            if (index > 0) {
+                pixels = toFront(cache, index);
+            }
+        } else {
+            BufferedImage argb = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D graphics = argb.createGraphics();
+            try {
+                graphics.drawImage(image, 0, 0, width, height, 0, 0,
+                    image.getWidth(null), image.getHeight(null), null);
+            } finally {
+                graphics.dispose();
+            }
+            current = new ScaledImage(argb, width, height);
+            current.pixels = argb.getRGB(0, 0, width, height, null, 0, width);
+            pixels = add(cache, current);
+        }
+        return current.pixels;
     }
 
+    /**
+     * Looks up a scaled copy by size.
+     *
+     * @return The index of the copy of the given size, or <code>-1</code> if
+     *         there is none.
+     */
+    private static int indexOf(ScaledImage[] cache, int width, int height) {
+        for (int i = 0; i < cache.length; i++) {
+            if (cache[i].width == width && cache[i].height == height) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Moves a scaled copy that is used again in front of the others, so it
+     * is dropped last.
+     *
+     * @return A new cache with the copy at the given index in front.
+     */
+    private static ScaledImage[] toFront(ScaledImage[] cache, int index) {
+        ScaledImage[] result = cache.clone();
+        System.arraycopy(cache, 0, result, 1, index);
+        result[0] = cache[index];
+        return result;
+    }
+
+    /**
+     * Adds a scaled copy in front of the others, dropping the least recently
+     * used one if {@link #CACHED_SIZES} are kept already.
+     *
+     * @return A new cache holding the copy.
+     */
+    private static ScaledImage[] add(ScaledImage[] cache, ScaledImage copy) {
+        int kept = Math.min(cache.length, CACHED_SIZES - 1);
+        ScaledImage[] result = new ScaledImage[kept + 1];
+        result[0] = copy;
+        System.arraycopy(cache, 0, result, 1, kept);
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Splitting a buffered image, like the images of a {@link SpriteAtlas},
+     * gives a sprite sharing its pixels instead of a copy.
+     */
     @Override
     public Sprite split(int x, int y, int width, int height) {
         if (withinImage(x, y) && withinImage(x + width - 1, y + height - 1)) {
+            if (image instanceof BufferedImage) {
+                return new ImageSprite(((BufferedImage) image).getSubimage(x, y, width, height));
+            }
             BufferedImage newImage = newImage(width, height);
             newImage.createGraphics().drawImage(image, 0, 0, width, height, x,
                 y, x + width, y + height, null);
@@ -53,7 +204,9 @@ public class ImageSprite implements Sprite {
 
     /**
      * Creates a new, empty image of the given width and height. Its
-     * transparency will be a bitmask, so no try ARGB image.
+     * transparency will be a bitmask, so no try ARGB image. Without a
+     * display there is no screen to be compatible with, so a plain ARGB
+     * image is created instead.
      *
      * @param width
      *            The width of the new image.
@@ -62,6 +215,9 @@ public class ImageSprite implements Sprite {
      * @return The new, empty image.
      */
     private BufferedImage newImage(int width, int height) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        }
         GraphicsConfiguration gc = GraphicsEnvironment
             .getLocalGraphicsEnvironment().getDefaultScreenDevice()
             .getDefaultConfiguration();
@@ -78,4 +234,25 @@ public class ImageSprite implements Sprite {
         return image.getHeight(null);
     }
 
+    /**
+     * A pre-scaled copy of the image together with its size.
+     */
+    private static final class ScaledImage {
+
+        private final Image image;
+        private final int width;
+        private final int height;
+
+        /**
+         * The packed ARGB pixels of the image, if extracted.
+         */
+        private int[] pixels;
+
+        ScaledImage(Image image, int width, int height) {
+            this.image = image;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
 }
@@ -1,11 +1,15 @@
 package nl.tudelft.jpacman.sprite;
 
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import nl.tudelft.jpacman.PacmanConfigurationException;
 import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.clock.GameClock;
 import nl.tudelft.jpacman.npc.ghost.GhostColor;
 
 /**
@@ -51,6 +55,44 @@ public class PacManSprites extends SpriteStore {
      */
     private static final int ANIMATION_DELAY = 200;
 
+    /**
+     * The store shared by game elements that have no store of their own,
+     * animating with the wall clock.
+     */
+    private static final PacManSprites SHARED = new PacManSprites();
+
+    /**
+     * The ghost sprites handed out so far, by name. Ghost sprites are never
+     * stopped or restarted, so all ghosts of a colour share one map.
+     */
+    private final ConcurrentMap<String, Map<Direction, Sprite>> ghostSprites =
+        new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new sprite store animating with the wall clock.
+     */
+    public PacManSprites() {
+        super();
+    }
+
+    /**
+     * Creates a new sprite store whose animations follow the given clock.
+     *
+     * @param clock
+     *            The clock driving the animations.
+     */
+    public PacManSprites(GameClock clock) {
+        super(clock);
+    }
+
+    /**
+     * @return The store shared by game elements that have no store of
+     *         their own, animating with the wall clock.
+     */
+    public static PacManSprites getShared() {
+        return SHARED;
+    }
+
     /**
      * @return A map of animated Pac-Man sprites for all directions.
      */
@@ -103,7 +145,7 @@ public class PacManSprites extends SpriteStore {
      * @return The animated sprite facing the given direction.
      */
     private Map<Direction, Sprite> directionSprite(String resource, int frames) {
-        Map<Direction, Sprite> sprite = new HashMap<>();
+        Map<Direction, Sprite> sprite = new EnumMap<>(Direction.class);
 
         Sprite baseImage = loadSprite(resource);
         for (int i = 0; i < DIRECTIONS.length; i++) {
@@ -136,11 +178,12 @@ public class PacManSprites extends SpriteStore {
     /**
      *
      * @param name of the ghost folowing the format ghost_\<NAME\>.png
-     * @return The Sprite for the ghost.
+     * @return The Sprite for the ghost, an unmodifiable map shared by all
+     * ghosts with this name.
      */
     public Map<Direction, Sprite> getGhostSprite(String name){
-        String resource = "/sprite/ghost_" + name + ".png";
-        return directionSprite(resource, GHOST_ANIMATION_FRAMES);
+        return ghostSprites.computeIfAbsent(name, key -> Collections.unmodifiableMap(
+            directionSprite("/sprite/ghost_" + key + ".png", GHOST_ANIMATION_FRAMES)));
     }
 
     /**
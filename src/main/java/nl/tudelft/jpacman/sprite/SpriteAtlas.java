@@ -0,0 +1,164 @@
+package nl.tudelft.jpacman.sprite;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.imageio.ImageIO;
+
+/**
+ * The images of all sprites loaded in this process, each decoded once and
+ * packed into a shared page image. The sprites handed out are regions of
+ * that page, and splitting them into direction and animation frames gives
+ * smaller regions of the same page (see {@link ImageSprite#split}), so no
+ * pixels are copied after decoding.
+ * <p>
+ * Images are packed in shelves, left to right and top to bottom, in the
+ * order they are first loaded. The sprites of the game fit on one page;
+ * another page is only started when it is full, and images larger than a
+ * page keep an image of their own.
+ * <p>
+ * This class is thread-safe. Loaded sprites are looked up without locking.
+ */
+public final class SpriteAtlas {
+
+    /**
+     * The width and height of a page in pixels.
+     */
+    private static final int PAGE_SIZE = 512;
+
+    /**
+     * The atlas shared by all sprite stores of this process.
+     */
+    private static final SpriteAtlas SHARED = new SpriteAtlas();
+
+    /**
+     * The sprite of every resource loaded so far.
+     */
+    private final ConcurrentMap<String, ImageSprite> sprites = new ConcurrentHashMap<>();
+
+    /**
+     * The page images are packed into, or <code>null</code> before the first
+     * image is loaded.
+     */
+    private BufferedImage page;
+
+    /**
+     * The horizontal position of the next image on the current shelf.
+     */
+    private int shelfX;
+
+    /**
+     * The vertical position of the current shelf.
+     */
+    private int shelfY;
+
+    /**
+     * The height of the highest image on the current shelf.
+     */
+    private int shelfHeight;
+
+    /**
+     * Creates a new, empty atlas. Sprite stores share
+     * {@link #getShared()} instead.
+     */
+    SpriteAtlas() {
+        // nothing is loaded until it is asked for.
+    }
+
+    /**
+     * @return The atlas shared by all sprite stores of this process.
+     */
+    public static SpriteAtlas getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the sprite of a resource on the class path, decoding and
+     * packing it the first time it is asked for.
+     *
+     * @param resource
+     *            The resource path.
+     * @return The sprite for the resource, the same for every call.
+     * @throws IOException
+     *             When the resource could not be loaded.
+     */
+    public Sprite loadSprite(String resource) throws IOException {
+        ImageSprite result = sprites.get(resource);
+        if (result == null) {
+            synchronized (this) {
+                result = sprites.get(resource);
+                if (result == null) {
+                    result = new ImageSprite(pack(decode(resource)));
+                    sprites.put(resource, result);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return The number of images decoded by this atlas.
+     */
+    public int size() {
+        return sprites.size();
+    }
+
+    /**
+     * Decodes an image resource.
+     *
+     * @param resource
+     *            The resource path.
+     * @return The decoded image.
+     * @throws IOException
+     *             When the resource could not be loaded.
+     */
+    private static BufferedImage decode(String resource) throws IOException {
+        try (InputStream input = SpriteAtlas.class.getResourceAsStream(resource)) {
+            if (input == null) {
+                throw new IOException("Unable to load " + resource + ", resource does not exist.");
+            }
+            BufferedImage image = ImageIO.read(input);
+            if (image == null) {
+                throw new IOException("Unable to load " + resource + ", not an image.");
+            }
+            return image;
+        }
+    }
+
+    /**
+     * Copies an image to the next free region of the current page, starting
+     * a new shelf or page when it does not fit.
+     *
+     * @param image
+     *            The decoded image.
+     * @return The region of the page holding the image, or the image itself
+     *         if it is larger than a page.
+     */
+    private BufferedImage pack(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        if (width > PAGE_SIZE || height > PAGE_SIZE) {
+            return image;
+        }
+        if (page != null && shelfX + width > PAGE_SIZE) {
+            shelfX = 0;
+            shelfY += shelfHeight;
+            shelfHeight = 0;
+        }
+        if (page == null || shelfY + height > PAGE_SIZE) {
+            page = new BufferedImage(PAGE_SIZE, PAGE_SIZE, BufferedImage.TYPE_INT_ARGB);
+            shelfX = 0;
+            shelfY = 0;
+            shelfHeight = 0;
+        }
+        page.setRGB(shelfX, shelfY, width, height,
+            image.getRGB(0, 0, width, height, null, 0, width), 0, width);
+        BufferedImage region = page.getSubimage(shelfX, shelfY, width, height);
+        shelfX += width;
+        shelfHeight = Math.max(shelfHeight, height);
+        return region;
+    }
+}
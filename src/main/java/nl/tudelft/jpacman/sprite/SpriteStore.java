@@ -1,12 +1,9 @@
 package nl.tudelft.jpacman.sprite;
 
-import java.awt.image.BufferedImage;
 import java.io.IOException;
-import java.io.InputStream;
-import java.util.HashMap;
-import java.util.Map;
 
-import javax.imageio.ImageIO;
+import nl.tudelft.jpacman.clock.FrameClock;
+import nl.tudelft.jpacman.clock.GameClock;
 
 /**
  * Utility to load {@link Sprite}s.
@@ -16,55 +13,62 @@ import javax.imageio.ImageIO;
 public class SpriteStore {
 
     /**
-     * We only need to load images once, so we keep track
-     * of them in a hash map.
+     * We only need to load images once, so they are kept in an atlas shared
+     * by all stores.
      */
-    private final Map<String, Sprite> spriteMap;
+    private final SpriteAtlas atlas;
 
     /**
-     * Create a new sprite store.
+     * The clock driving the animations created by this store.
+     */
+    private final GameClock clock;
+
+    /**
+     * Create a new sprite store, animating with the wall clock as sampled
+     * once per rendered frame.
      */
     public SpriteStore() {
-        spriteMap = new HashMap<>();
+        this(FrameClock.system());
     }
 
     /**
-     * Loads a sprite from a resource on the class path.
-     * Sprites are loaded once, and then stored in the store
-     * so that they can be efficiently retrieved.
+     * Create a new sprite store whose animations follow the given clock.
      *
-     * @param resource
-     *            The resource path.
-     * @return The sprite for the resource.
-     * @throws IOException
-     *             When the resource could not be loaded.
+     * @param clock
+     *            The clock driving the animations.
      */
-    public Sprite loadSprite(String resource) throws IOException {
-        Sprite result = spriteMap.get(resource);
-        if (result == null) {
-            result = loadSpriteFromResource(resource);
-            spriteMap.put(resource, result);
-        }
-        return result;
+    public SpriteStore(GameClock clock) {
+        this(clock, SpriteAtlas.getShared());
+    }
+
+    /**
+     * Create a new sprite store loading its images into the given atlas.
+     *
+     * @param clock
+     *            The clock driving the animations.
+     * @param atlas
+     *            The atlas holding the images.
+     */
+    SpriteStore(GameClock clock, SpriteAtlas atlas) {
+        assert clock != null;
+        assert atlas != null;
+        this.atlas = atlas;
+        this.clock = clock;
     }
 
     /**
      * Loads a sprite from a resource on the class path.
+     * Sprites are loaded once, and then stored in the store
+     * so that they can be efficiently retrieved.
      *
      * @param resource
      *            The resource path.
-     * @return A new sprite for the resource.
+     * @return The sprite for the resource.
      * @throws IOException
      *             When the resource could not be loaded.
      */
-    private Sprite loadSpriteFromResource(String resource) throws IOException {
-        try (InputStream input = SpriteStore.class.getResourceAsStream(resource)) {
-            if (input == null) {
-                throw new IOException("Unable to load " + resource + ", resource does not exist.");
-            }
-            BufferedImage image = ImageIO.read(input);
-            return new ImageSprite(image);
-        }
+    public Sprite loadSprite(String resource) throws IOException {
+        return atlas.loadSprite(resource);
     }
 
     /**
@@ -93,7 +97,7 @@ public class SpriteStore {
                 baseImage.getHeight());
         }
 
-        return new AnimatedSprite(animation, delay, loop);
+        return new AnimatedSprite(animation, delay, loop, false, clock);
     }
 
 }
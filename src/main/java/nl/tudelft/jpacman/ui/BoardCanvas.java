@@ -0,0 +1,142 @@
+package nl.tudelft.jpacman.ui;
+
+import java.awt.AWTException;
+import java.awt.BufferCapabilities;
+import java.awt.Canvas;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.ImageCapabilities;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.ForkJoinPool;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.game.Game;
+
+/**
+ * Canvas displaying a game with active rendering. Instead of waiting for
+ * Swing to paint it, frames are drawn by a {@link RenderLoop} into a
+ * {@link BufferStrategy}, flipping pages where the screen supports it.
+ */
+class BoardCanvas extends Canvas {
+
+    /**
+     * Default serialisation ID.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The number of buffers to render into.
+     */
+    private static final int BUFFERS = 2;
+
+    /**
+     * The game to display.
+     */
+    private final Game game;
+
+    /**
+     * The renderer drawing the board on this canvas.
+     */
+    private final transient BoardRenderer renderer;
+
+    /**
+     * The camera showing part of the board, or <code>null</code> to scale
+     * the whole board onto the canvas.
+     */
+    private final transient Camera camera;
+
+    /**
+     * Creates a new board canvas that will display the provided game.
+     *
+     * @param game
+     *            The game to display.
+     * @param softwareRendering
+     *            <code>true</code> to compose the board with a
+     *            {@link RasterRenderer} instead of Java2D.
+     * @param camera
+     *            The camera showing part of the board, or <code>null</code>
+     *            to scale the whole board onto the canvas.
+     */
+    BoardCanvas(Game game, boolean softwareRendering, Camera camera) {
+        super();
+        assert game != null;
+        this.game = game;
+        this.renderer = softwareRendering ? new RasterRenderer(this) : new BoardRenderer(this);
+        this.camera = camera;
+        setIgnoreRepaint(true);
+
+        Board board = game.getLevel().getBoard();
+        Dimension size = camera == null
+            ? new Dimension(board.getWidth() * BoardPanel.SQUARE_SIZE,
+                board.getHeight() * BoardPanel.SQUARE_SIZE)
+            : camera.getPreferredSize(board);
+        setMinimumSize(size);
+        setPreferredSize(size);
+    }
+
+    /**
+     * Composes the board in bands on the given pool, if it is composed in
+     * software.
+     *
+     * @param pool
+     *            The pool composing the bands.
+     */
+    void renderInParallel(ForkJoinPool pool) {
+        if (renderer instanceof RasterRenderer) {
+            ((RasterRenderer) renderer).setPool(pool);
+        }
+    }
+
+    /**
+     * Draws moving units gliding between squares instead of jumping.
+     */
+    void interpolateMoves() {
+        renderer.interpolateMoves(game.getLevel().getClock());
+    }
+
+    /**
+     * Creates the buffers to render into, preferring page flipping in video
+     * memory and falling back to whatever strategy the screen offers.
+     * Precondition: the canvas is displayable.
+     */
+    void createBuffers() {
+        BufferCapabilities flipping = new BufferCapabilities(
+            new ImageCapabilities(true), new ImageCapabilities(true),
+            BufferCapabilities.FlipContents.UNDEFINED);
+        try {
+            createBufferStrategy(BUFFERS, flipping);
+        } catch (AWTException e) {
+            createBufferStrategy(BUFFERS);
+        }
+    }
+
+    /**
+     * Renders a frame and shows it, redrawing it as long as the contents
+     * of the buffers are lost in the meantime.
+     */
+    void renderFrame() {
+        BufferStrategy strategy = getBufferStrategy();
+        Dimension size = getSize();
+        if (strategy == null || size.width <= 0 || size.height <= 0) {
+            return;
+        }
+        do {
+            do {
+                Graphics graphics = strategy.getDrawGraphics();
+                try {
+                    Board board = game.getLevel().getBoard();
+                    if (camera == null) {
+                        renderer.render(board, graphics, size);
+                    } else {
+                        renderer.renderView(board, graphics, size, camera);
+                    }
+                } finally {
+                    graphics.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+    }
+}
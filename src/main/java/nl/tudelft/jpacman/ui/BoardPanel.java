@@ -1,16 +1,21 @@
 package nl.tudelft.jpacman.ui;
 
-import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics;
+import java.awt.Rectangle;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 
 import nl.tudelft.jpacman.board.Board;
 import nl.tudelft.jpacman.board.Square;
-import nl.tudelft.jpacman.board.Unit;
 import nl.tudelft.jpacman.game.Game;
 
 /**
@@ -26,22 +31,50 @@ class BoardPanel extends JPanel {
      */
     private static final long serialVersionUID = 1L;
 
-    /**
-     * The background colour of the board.
-     */
-    private static final Color BACKGROUND_COLOR = Color.BLACK;
-
     /**
      * The size (in pixels) of a square on the board. The initial size of this
      * panel will scale to fit a board with square of this size.
      */
-    private static final int SQUARE_SIZE = 16;
+    static final int SQUARE_SIZE = 16;
 
     /**
      * The game to display.
      */
     private final Game game;
 
+    /**
+     * The renderer drawing the board on this panel.
+     */
+    private final transient BoardRenderer renderer;
+
+    /**
+     * The board shown by the last call to {@link #repaintChanges()}.
+     */
+    private transient Board shownBoard;
+
+    /**
+     * The squares of the shown board that changed since the last frame, as
+     * its observer was told, each listed once.
+     */
+    private final transient Set<Square> changedSquares = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The observer of the shown board, listing the squares that change.
+     */
+    private final transient Board.SquareObserver changeObserver = changedSquares::add;
+
+    /**
+     * The squares that showed an animation in the last frame, only used by
+     * {@link #repaintChanges()}.
+     */
+    private final transient List<Square> animatedSquares = new ArrayList<>();
+
+    /**
+     * The camera showing part of the board, or <code>null</code> to scale
+     * the whole board into the panel.
+     */
+    private final transient Camera camera;
+
     /**
      * Creates a new board panel that will display the provided game.
      *
@@ -49,16 +82,34 @@ class BoardPanel extends JPanel {
      *            The game to display.
      */
     BoardPanel(Game game) {
+        this(game, false, null);
+    }
+
+    /**
+     * Creates a new board panel that will display the provided game.
+     *
+     * @param game
+     *            The game to display.
+     * @param softwareRendering
+     *            <code>true</code> to compose the board with a
+     *            {@link RasterRenderer} instead of Java2D.
+     * @param camera
+     *            The camera showing part of the board, or <code>null</code>
+     *            to scale the whole board into the panel.
+     */
+    BoardPanel(Game game, boolean softwareRendering, Camera camera) {
         super();
         assert game != null;
         this.game = game;
+        this.renderer = softwareRendering ? new RasterRenderer(this) : new BoardRenderer(this);
+        this.camera = camera;
 
         Board board = game.getLevel().getBoard();
 
         int w = board.getWidth() * SQUARE_SIZE;
         int h = board.getHeight() * SQUARE_SIZE;
 
-        Dimension size = new Dimension(w, h);
+        Dimension size = camera == null ? new Dimension(w, h) : camera.getPreferredSize(board);
         setMinimumSize(size);
         setPreferredSize(size);
     }
@@ -66,58 +117,102 @@ class BoardPanel extends JPanel {
     @Override
     public void paint(Graphics g) {
         assert g != null;
-        render(game.getLevel().getBoard(), g, getSize());
+        if (camera == null) {
+            renderer.render(game.getLevel().getBoard(), g, getSize());
+        } else {
+            renderer.renderView(game.getLevel().getBoard(), g, getSize(), camera);
+        }
     }
 
     /**
-     * Renders the board on the given graphics context to the given dimensions.
-     *
-     * @param board
-     *            The board to render.
-     * @param graphics
-     *            The graphics context to draw on.
-     * @param window
-     *            The dimensions to scale the rendered board to.
+     * Repaints the squares that changed since they were last drawn and those
+     * showing an animation, leaving the rest of the board as it is. The
+     * board reports its changed squares, so the others are not visited, and
+     * every square is painted on its own on the event dispatch thread: a
+     * plain repaint would have Swing paint the union of the squares, most
+     * of the board when two distant units move. Repaints everything when
+     * another board is shown, with a camera as the view may scroll, or when
+     * moves are interpolated as units are drawn between squares. Called from
+     * one thread at a time, which need not be the event dispatch thread.
      */
-    private void render(Board board, Graphics graphics, Dimension window) {
-        int cellW = window.width / board.getWidth();
-        int cellH = window.height / board.getHeight();
-
-        graphics.setColor(BACKGROUND_COLOR);
-        graphics.fillRect(0, 0, window.width, window.height);
-
-        for (int y = 0; y < board.getHeight(); y++) {
-            for (int x = 0; x < board.getWidth(); x++) {
-                int cellX = x * cellW;
-                int cellY = y * cellH;
-                Square square = board.squareAt(x, y);
-                render(square, graphics, cellX, cellY, cellW, cellH);
+    void repaintChanges() {
+        Board board = game.getLevel().getBoard();
+        if (board != shownBoard) {
+            if (shownBoard != null) {
+                shownBoard.removeObserver(changeObserver);
+            }
+            board.addObserver(changeObserver);
+            shownBoard = board;
+            changedSquares.clear();
+            animatedSquares.clear();
+            repaint();
+            return;
+        }
+        if (camera != null || renderer.getInterpolator() != null) {
+            changedSquares.clear();
+            repaint();
+            return;
+        }
+        Set<Square> redraw = new LinkedHashSet<>();
+        for (Iterator<Square> changed = changedSquares.iterator(); changed.hasNext();) {
+            Square square = changed.next();
+            changed.remove();
+            if (renderer.needsRedraw(board, square)) {
+                redraw.add(square);
+            }
+        }
+        for (Square square : animatedSquares) {
+            if (renderer.needsRedraw(board, square)) {
+                redraw.add(square);
             }
         }
+        animatedSquares.clear();
+        if (redraw.isEmpty()) {
+            return;
+        }
+        int cellW = getWidth() / board.getWidth();
+        int cellH = getHeight() / board.getHeight();
+        List<Rectangle> regions = new ArrayList<>(redraw.size());
+        for (Square square : redraw) {
+            if (renderer.isAnimating(square)) {
+                animatedSquares.add(square);
+            }
+            regions.add(new Rectangle(square.getX() * cellW, square.getY() * cellH,
+                cellW, cellH));
+        }
+        SwingUtilities.invokeLater(() -> {
+            for (Rectangle region : regions) {
+                paintImmediately(region);
+            }
+        });
     }
 
     /**
-     * Renders a single square on the given graphics context on the specified
-     * rectangle.
+     * Composes the board in bands on the given pool, if it is composed in
+     * software.
      *
-     * @param square
-     *            The square to render.
-     * @param graphics
-     *            The graphics context to draw on.
-     * @param x
-     *            The x position to start drawing.
-     * @param y
-     *            The y position to start drawing.
-     * @param width
-     *            The width of this square (in pixels.)
-     * @param height
-     *            The height of this square (in pixels.)
+     * @param pool
+     *            The pool composing the bands.
      */
-    private void render(Square square, Graphics graphics, int x, int y, int width, int height) {
-        square.getSprite().draw(graphics, x, y, width, height);
-        List<Unit> ordered = square.getGraphicalOrderedOccupants();
-        for (Unit unit: ordered) {
-            unit.getSprite().draw(graphics, x, y, width, height);
+    void renderInParallel(ForkJoinPool pool) {
+        if (renderer instanceof RasterRenderer) {
+            ((RasterRenderer) renderer).setPool(pool);
         }
     }
+
+    /**
+     * Draws moving units gliding between squares instead of jumping.
+     */
+    void interpolateMoves() {
+        renderer.interpolateMoves(game.getLevel().getClock());
+    }
+
+    /**
+     * Drops the pre-rendered walls and floor, so they are rendered again on
+     * the next paint. Resizing the panel or switching to another board does
+     * this automatically.
+     */
+    void invalidateBackground() {
+        renderer.invalidateBackground();
+    }
 }
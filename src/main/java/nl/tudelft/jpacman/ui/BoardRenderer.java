@@ -0,0 +1,368 @@
+package nl.tudelft.jpacman.ui;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.ChangeTracker;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.clock.FrameClock;
+import nl.tudelft.jpacman.clock.GameClock;
+import nl.tudelft.jpacman.sprite.AnimatedSprite;
+
+/**
+ * Renders a board onto a graphics context, shared by the components that
+ * display a game. The walls and floor never change during a level, so they
+ * are rendered once into an image that is blitted before the units are
+ * drawn.
+ */
+class BoardRenderer {
+
+    /**
+     * The background colour of the board.
+     */
+    private static final Color BACKGROUND_COLOR = Color.BLACK;
+
+    /**
+     * The component the board is shown on, used to create images compatible
+     * with its screen, or <code>null</code> if it is rendered off-screen.
+     */
+    private final Component component;
+
+    /**
+     * The pre-rendered walls and floor of {@link #backgroundBoard}, or
+     * <code>null</code> if they have to be rendered again.
+     */
+    private BufferedImage background;
+
+    /**
+     * The board {@link #background} was rendered for.
+     */
+    private Board backgroundBoard;
+
+    /**
+     * The modification counts of the squares as this renderer last drew
+     * them.
+     */
+    private final ChangeTracker changes = new ChangeTracker();
+
+    /**
+     * Reused to look at the occupants of a square without allocating.
+     */
+    private final List<Unit> occupants = new ArrayList<>();
+
+    /**
+     * The squares in view of a camera, reused between frames.
+     */
+    private final Camera.View view = new Camera.View();
+
+    /**
+     * Places moving units between squares, or <code>null</code> if units
+     * are drawn on their squares.
+     */
+    private Interpolator interpolator;
+
+    /**
+     * Creates a new renderer.
+     *
+     * @param component
+     *            The component the board is shown on, or <code>null</code>
+     *            to render off-screen.
+     */
+    BoardRenderer(Component component) {
+        this.component = component;
+    }
+
+    /**
+     * Draws moving units gliding between squares, following the given
+     * clock, instead of on the square they occupy.
+     *
+     * @param clock
+     *            The clock of the level the units move on.
+     */
+    void interpolateMoves(GameClock clock) {
+        interpolator = new Interpolator(clock);
+    }
+
+    /**
+     * @return The interpolator placing moving units, or <code>null</code>
+     *         if units are drawn on their squares.
+     */
+    Interpolator getInterpolator() {
+        return interpolator;
+    }
+
+    /**
+     * Drops the pre-rendered walls and floor, so they are rendered again on
+     * the next frame. Resizing or switching to another board does this
+     * automatically.
+     */
+    void invalidateBackground() {
+        background = null;
+    }
+
+    /**
+     * Renders the board on the given graphics context to the given dimensions.
+     * Only the squares overlapping the clip of the graphics context are
+     * drawn, so redrawing a few changed squares is cheap. Moving units are
+     * drawn after all others, so they glide over pellets instead of under.
+     *
+     * @param board
+     *            The board to render.
+     * @param graphics
+     *            The graphics context to draw on.
+     * @param window
+     *            The dimensions to scale the rendered board to.
+     */
+    void render(Board board, Graphics graphics, Dimension window) {
+        int cellW = window.width / board.getWidth();
+        int cellH = window.height / board.getHeight();
+
+        graphics.drawImage(getBackground(board, window), 0, 0, null);
+        if (cellW <= 0 || cellH <= 0) {
+            return;
+        }
+
+        int firstX = 0;
+        int firstY = 0;
+        int lastX = board.getWidth() - 1;
+        int lastY = board.getHeight() - 1;
+        Rectangle clip = graphics.getClipBounds();
+        if (clip != null) {
+            firstX = Math.max(firstX, clip.x / cellW);
+            firstY = Math.max(firstY, clip.y / cellH);
+            lastX = Math.min(lastX, (clip.x + clip.width - 1) / cellW);
+            lastY = Math.min(lastY, (clip.y + clip.height - 1) / cellH);
+        }
+        startFrame();
+        for (int pass = 0; pass < passes(); pass++) {
+            for (int y = firstY; y <= lastY; y++) {
+                for (int x = firstX; x <= lastX; x++) {
+                    Square square = board.squareAt(x, y);
+                    if (!square.isFree()) {
+                        renderOccupants(board, square, graphics, x * cellW, y * cellH,
+                            cellW, cellH, pass == 1);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Samples the time of the frame about to be rendered, once for all
+     * animations following the wall clock and for the interpolator, if any.
+     */
+    void startFrame() {
+        FrameClock.system().startFrame();
+        if (interpolator != null) {
+            interpolator.startFrame();
+        }
+    }
+
+    /**
+     * @return The number of passes over the squares: the second one draws
+     *         the moving units.
+     */
+    private int passes() {
+        return interpolator == null ? 1 : 2;
+    }
+
+    /**
+     * Renders the part of the board in view of a camera. Only the squares in
+     * view are visited, walls and floor included, so unlike
+     * {@link #render(Board, Graphics, Dimension)} nothing is cached for the
+     * whole board.
+     *
+     * @param board
+     *            The board to render.
+     * @param graphics
+     *            The graphics context to draw on.
+     * @param window
+     *            The size of the view in pixels.
+     * @param camera
+     *            The camera determining the squares in view.
+     */
+    void renderView(Board board, Graphics graphics, Dimension window, Camera camera) {
+        graphics.setColor(BACKGROUND_COLOR);
+        graphics.fillRect(0, 0, window.width, window.height);
+
+        int size = camera.getCellSize();
+        int shiftX = 0;
+        int shiftY = 0;
+        startFrame();
+        if (interpolator != null) {
+            Unit target = camera.getTarget();
+            if (target.hasSquare()
+                && interpolator.locate(target, target.getSquare(), board, size, size)) {
+                shiftX = interpolator.getOffsetX();
+                shiftY = interpolator.getOffsetY();
+            }
+        }
+        camera.look(board, window, view, shiftX, shiftY);
+        Camera.Axis columns = view.columns;
+        Camera.Axis rows = view.rows;
+        for (int pass = 0; pass < passes(); pass++) {
+            for (int row = 0; row < rows.getCount(); row++) {
+                int y = rows.pixelAt(row);
+                for (int column = 0; column < columns.getCount(); column++) {
+                    int x = columns.pixelAt(column);
+                    Square square = board.squareAt(columns.squareAt(column),
+                        rows.squareAt(row));
+                    if (pass == 0) {
+                        square.getSprite().draw(graphics, x, y, size, size);
+                    }
+                    if (!square.isFree()) {
+                        renderOccupants(board, square, graphics, x, y, size, size, pass == 1);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Determines whether a square has to be drawn again: because it changed
+     * since this renderer last drew it, or because one of its occupants is
+     * animated. Remembers the square as drawn.
+     *
+     * @param board
+     *            The board of the square.
+     * @param square
+     *            The square to check.
+     * @return <code>true</code> iff the square has to be drawn again.
+     */
+    boolean needsRedraw(Board board, Square square) {
+        return changes.takeChange(board, square) || isAnimating(square);
+    }
+
+    /**
+     * @param square
+     *            The square to check.
+     * @return <code>true</code> iff one of the occupants of the square is
+     *         animated, so it has to be drawn every frame.
+     */
+    boolean isAnimating(Square square) {
+        if (square.isFree()) {
+            return false;
+        }
+        square.collectOrderedOccupants(occupants);
+        for (int i = 0; i < occupants.size(); i++) {
+            if (isAnimating(occupants.get(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAnimating(Unit unit) {
+        return unit.getSprite() instanceof AnimatedSprite
+            && ((AnimatedSprite) unit.getSprite()).isAnimating();
+    }
+
+    /**
+     * Returns the walls and floor of the board rendered to the given
+     * dimensions, rendering them if the cached image does not match.
+     *
+     * @param board
+     *            The board to render.
+     * @param window
+     *            The dimensions to scale the rendered board to.
+     * @return The rendered background.
+     */
+    private BufferedImage getBackground(Board board, Dimension window) {
+        if (background != null && backgroundBoard == board
+            && background.getWidth() == window.width
+            && background.getHeight() == window.height) {
+            return background;
+        }
+        BufferedImage image = createLayer(window.width, window.height);
+        Graphics graphics = image.getGraphics();
+        try {
+            graphics.setColor(BACKGROUND_COLOR);
+            graphics.fillRect(0, 0, window.width, window.height);
+
+            int cellW = window.width / board.getWidth();
+            int cellH = window.height / board.getHeight();
+            for (int y = 0; y < board.getHeight(); y++) {
+                for (int x = 0; x < board.getWidth(); x++) {
+                    Square square = board.squareAt(x, y);
+                    square.getSprite().draw(graphics, x * cellW, y * cellH, cellW, cellH);
+                }
+            }
+        } finally {
+            graphics.dispose();
+        }
+        background = image;
+        backgroundBoard = board;
+        return image;
+    }
+
+    /**
+     * Creates an image compatible with the screen the component is shown on,
+     * so it can be accelerated, or a plain one if it is not shown.
+     *
+     * @param width
+     *            The width of the image.
+     * @param height
+     *            The height of the image.
+     * @return A new opaque image.
+     */
+    private BufferedImage createLayer(int width, int height) {
+        int w = Math.max(1, width);
+        int h = Math.max(1, height);
+        GraphicsConfiguration configuration = component == null
+            ? null : component.getGraphicsConfiguration();
+        if (configuration != null) {
+            return configuration.createCompatibleImage(w, h);
+        }
+        return new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+    }
+
+    /**
+     * Renders the occupants of a single square on the given graphics context
+     * on the specified rectangle: either those standing still or those
+     * moving, drawn where they are on their way.
+     *
+     * @param board
+     *            The board of the square.
+     * @param square
+     *            The square to render.
+     * @param graphics
+     *            The graphics context to draw on.
+     * @param x
+     *            The x position to start drawing.
+     * @param y
+     *            The y position to start drawing.
+     * @param width
+     *            The width of this square (in pixels.)
+     * @param height
+     *            The height of this square (in pixels.)
+     * @param moving
+     *            <code>true</code> to render the moving occupants,
+     *            <code>false</code> to render the others.
+     */
+    private void renderOccupants(Board board, Square square, Graphics graphics, int x, int y,
+                                 int width, int height, boolean moving) {
+        List<Unit> ordered = square.getGraphicalOrderedOccupants();
+        for (Unit unit: ordered) {
+            boolean isMoving = interpolator != null
+                && interpolator.locate(unit, square, board, width, height);
+            if (isMoving != moving) {
+                continue;
+            }
+            if (isMoving) {
+                unit.getSprite().draw(graphics, x + interpolator.getOffsetX(),
+                    y + interpolator.getOffsetY(), width, height);
+            } else {
+                unit.getSprite().draw(graphics, x, y, width, height);
+            }
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package nl.tudelft.jpacman.ui;
+
+import java.awt.Dimension;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.level.Player;
+
+/**
+ * A view on a part of a board, drawn with squares of a fixed size and
+ * centred on a player. Only the squares in view are visited, so the cost of
+ * a frame depends on the size of the view instead of the size of the board.
+ * <p>
+ * Boards wrap around at their edges (see
+ * {@link nl.tudelft.jpacman.board.BoardFactory}), so along an axis on which
+ * the board does not fit the view, the squares on the other side of the
+ * edge are shown. Along an axis on which it does fit, the board is centred.
+ */
+public class Camera {
+
+    /**
+     * The number of squares shown along each axis at most, before the
+     * window is resized.
+     */
+    private static final Dimension DEFAULT_VIEW = new Dimension(32, 24);
+
+    /**
+     * The player to follow.
+     */
+    private final Player target;
+
+    /**
+     * The size of a square in pixels.
+     */
+    private final int cellSize;
+
+    /**
+     * The column of the square the view was last centred on.
+     */
+    private int centreX;
+
+    /**
+     * The row of the square the view was last centred on.
+     */
+    private int centreY;
+
+    /**
+     * Creates a new camera.
+     *
+     * @param target
+     *            The player to follow.
+     * @param cellSize
+     *            The size of a square in pixels.
+     */
+    public Camera(Player target, int cellSize) {
+        assert target != null;
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive, got " + cellSize);
+        }
+        this.target = target;
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * @return The player followed by this camera.
+     */
+    Player getTarget() {
+        return target;
+    }
+
+    /**
+     * @return The size of a square in pixels.
+     */
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Returns the initial size of a component showing the board through
+     * this camera: the whole board if it is small enough.
+     *
+     * @param board
+     *            The board to show.
+     * @return The preferred size of the view.
+     */
+    Dimension getPreferredSize(Board board) {
+        return new Dimension(
+            Math.min(board.getWidth(), DEFAULT_VIEW.width) * cellSize,
+            Math.min(board.getHeight(), DEFAULT_VIEW.height) * cellSize);
+    }
+
+    /**
+     * Determines the squares in view, centred on the current square of the
+     * target, or on its last known square if it is not on the board.
+     *
+     * @param board
+     *            The board to show.
+     * @param window
+     *            The size of the view in pixels.
+     * @param view
+     *            The range of squares to update.
+     * @param shiftX
+     *            The horizontal distance in pixels the target is drawn from
+     *            its square, while it moves.
+     * @param shiftY
+     *            The vertical distance in pixels the target is drawn from
+     *            its square, while it moves.
+     */
+    void look(Board board, Dimension window, View view, int shiftX, int shiftY) {
+        if (target.hasSquare()) {
+            Square square = target.getSquare();
+            if (square.getX() >= 0) {
+                centreX = square.getX();
+                centreY = square.getY();
+            }
+        }
+        view.columns.look(board.getWidth(), window.width, centreX, shiftX, cellSize);
+        view.rows.look(board.getHeight(), window.height, centreY, shiftY, cellSize);
+    }
+
+    /**
+     * The squares in view, reused between frames.
+     */
+    static final class View {
+
+        /**
+         * The columns in view.
+         */
+        final Axis columns = new Axis();
+
+        /**
+         * The rows in view.
+         */
+        final Axis rows = new Axis();
+    }
+
+    /**
+     * The range of squares in view along one axis.
+     */
+    static final class Axis {
+
+        /**
+         * The position of the first square in view, possibly outside the
+         * board when it wraps around.
+         */
+        private int first;
+
+        /**
+         * The number of squares (partly) in view.
+         */
+        private int count;
+
+        /**
+         * The pixel position of the first square, zero or less when the
+         * board is scrolled and centring it otherwise.
+         */
+        private int offset;
+
+        /**
+         * The number of squares of the board along this axis.
+         */
+        private int length;
+
+        private int cellSize;
+
+        /**
+         * Centres this axis on a square, shifted by the given number of
+         * pixels.
+         */
+        void look(int squares, int pixels, int centre, int shift, int size) {
+            this.length = squares;
+            this.cellSize = size;
+            if (squares * size <= pixels) {
+                first = 0;
+                count = squares;
+                offset = (pixels - squares * size) / 2;
+                return;
+            }
+            int start = centre * size + shift + size / 2 - pixels / 2;
+            first = Math.floorDiv(start, size);
+            offset = first * size - start;
+            count = (pixels - offset + size - 1) / size;
+        }
+
+        /**
+         * @return The number of squares (partly) in view.
+         */
+        int getCount() {
+            return count;
+        }
+
+        /**
+         * @param index
+         *            The index of a square in view, from 0 up to
+         *            {@link #getCount()}.
+         * @return The position on the board of that square.
+         */
+        int squareAt(int index) {
+            return Math.floorMod(first + index, length);
+        }
+
+        /**
+         * @param index
+         *            The index of a square in view, from 0 up to
+         *            {@link #getCount()}.
+         * @return The pixel position that square is drawn at.
+         */
+        int pixelAt(int index) {
+            return offset + index * cellSize;
+        }
+    }
+}
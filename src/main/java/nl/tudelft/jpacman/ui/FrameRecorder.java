@@ -0,0 +1,348 @@
+package nl.tudelft.jpacman.ui;
+
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import javax.imageio.ImageIO;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.clock.GameClock;
+
+/**
+ * Renders boards off-screen and writes every frame to a file, for replays
+ * and thumbnails on machines without a display. Frames are composed on the
+ * calling thread by the software compositor (see {@link RasterRenderer})
+ * and encoded on a background thread, so recording a frame costs little
+ * more than composing it.
+ * <p>
+ * A fixed number of frame buffers is passed between both threads: when the
+ * encoder falls behind, {@link #record(Board)} waits until a buffer is
+ * written. Frame <code>n</code> is written to
+ * <code>frame-nnnnnn.png</code> or <code>frame-nnnnnn.rgb</code> in the
+ * directory of the recorder, numbered from 0.
+ */
+public class FrameRecorder implements AutoCloseable {
+
+    /**
+     * The number of frames that can be composed ahead of the encoder.
+     */
+    private static final int BUFFERS = 4;
+
+    /**
+     * The number of bytes of a pixel in a raw RGB file.
+     */
+    private static final int RGB_BYTES = 3;
+
+    /**
+     * The file formats frames can be written in.
+     */
+    public enum Format {
+
+        /**
+         * Compressed PNG images.
+         */
+        PNG("png"),
+
+        /**
+         * Raw images of three bytes per pixel, red, green and blue, row by
+         * row without a header, as read by most video encoders.
+         */
+        RGB("rgb");
+
+        /**
+         * The extension of the files.
+         */
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+    }
+
+    /**
+     * Handed to the encoder to let it stop.
+     */
+    private static final Frame END = new Frame();
+
+    /**
+     * The directory the frames are written to.
+     */
+    private final Path directory;
+
+    /**
+     * The format the frames are written in.
+     */
+    private final Format format;
+
+    /**
+     * The size of a square in pixels.
+     */
+    private final int cellSize;
+
+    /**
+     * Composes the frames.
+     */
+    private final RasterRenderer renderer = new RasterRenderer(null);
+
+    /**
+     * The buffers free to compose a frame into.
+     */
+    private final BlockingQueue<Frame> free = new ArrayBlockingQueue<>(BUFFERS);
+
+    /**
+     * The composed frames waiting to be written, in order.
+     */
+    private final BlockingQueue<Frame> pending = new LinkedBlockingQueue<>();
+
+    /**
+     * The thread writing the frames.
+     */
+    private final Thread encoder;
+
+    /**
+     * The first error writing a frame, or <code>null</code>. No frames are
+     * written after an error.
+     */
+    private volatile IOException failure;
+
+    /**
+     * The number of frames written.
+     */
+    private volatile int written;
+
+    /**
+     * The number of frames recorded.
+     */
+    private int recorded;
+
+    /**
+     * <code>true</code> iff this recorder was closed.
+     */
+    private boolean closed;
+
+    /**
+     * Creates a new recorder drawing squares as large as on screen.
+     *
+     * @param directory
+     *            The directory to write the frames to, created if needed.
+     * @param format
+     *            The format to write the frames in.
+     * @throws IOException
+     *             When the directory could not be created.
+     */
+    public FrameRecorder(Path directory, Format format) throws IOException {
+        this(directory, format, BoardPanel.SQUARE_SIZE);
+    }
+
+    /**
+     * Creates a new recorder.
+     *
+     * @param directory
+     *            The directory to write the frames to, created if needed.
+     * @param format
+     *            The format to write the frames in.
+     * @param cellSize
+     *            The size of a square in pixels.
+     * @throws IOException
+     *             When the directory could not be created.
+     */
+    public FrameRecorder(Path directory, Format format, int cellSize) throws IOException {
+        assert directory != null;
+        assert format != null;
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive, got " + cellSize);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.format = format;
+        this.cellSize = cellSize;
+        for (int i = 0; i < BUFFERS; i++) {
+            free.add(new Frame());
+        }
+        encoder = new Thread(this::encode, "frame-encoder");
+        encoder.setDaemon(true);
+        encoder.start();
+    }
+
+    /**
+     * Draws moving units gliding between squares, following the given
+     * clock, instead of on the square they occupy.
+     *
+     * @param clock
+     *            The clock of the level the units move on.
+     */
+    public void interpolateMoves(GameClock clock) {
+        renderer.interpolateMoves(clock);
+    }
+
+    /**
+     * Composes a frame of a board and hands it to the encoder, waiting for
+     * a free buffer if the encoder is behind. Should be called from one
+     * thread at a time.
+     *
+     * @param board
+     *            The board to render.
+     * @throws IOException
+     *             When an earlier frame could not be written, or the
+     *             thread was interrupted while waiting.
+     */
+    public void record(Board board) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Recorder is closed.");
+        }
+        checkFailure();
+        Frame frame;
+        try {
+            frame = free.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for the encoder.");
+        }
+        int width = board.getWidth() * cellSize;
+        int height = board.getHeight() * cellSize;
+        if (frame.image == null || frame.image.getWidth() != width
+            || frame.image.getHeight() != height) {
+            frame.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        }
+        Graphics graphics = frame.image.getGraphics();
+        try {
+            renderer.render(board, graphics, new Dimension(width, height));
+        } finally {
+            graphics.dispose();
+        }
+        frame.index = recorded++;
+        pending.add(frame);
+    }
+
+    /**
+     * @return The number of frames written so far.
+     */
+    public int getFramesWritten() {
+        return written;
+    }
+
+    /**
+     * Waits until all recorded frames are written and stops the encoder.
+     *
+     * @throws IOException
+     *             When a frame could not be written, or the thread was
+     *             interrupted while waiting.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        pending.add(END);
+        try {
+            encoder.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for the encoder.");
+        }
+        checkFailure();
+    }
+
+    /**
+     * @throws IOException
+     *             The first error writing a frame, if any.
+     */
+    private void checkFailure() throws IOException {
+        IOException error = failure;
+        if (error != null) {
+            throw new IOException("Unable to write frame to " + directory, error);
+        }
+    }
+
+    /**
+     * Writes the pending frames until the recorder is closed. Once a frame
+     * fails, for whatever reason, the others are returned unwritten, so
+     * {@link #record(Board)} never waits for a buffer that is lost.
+     */
+    private void encode() {
+        byte[] row = new byte[0];
+        try {
+            for (Frame frame = pending.take(); frame != END; frame = pending.take()) {
+                try {
+                    if (failure == null) {
+                        row = write(frame, row);
+                        written++;
+                    }
+                } catch (IOException e) {
+                    failure = e;
+                } catch (RuntimeException e) {
+                    failure = new IOException("Unable to encode frame " + frame.index, e);
+                } finally {
+                    free.add(frame);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes a frame to its file.
+     *
+     * @param frame
+     *            The frame to write.
+     * @param row
+     *            A buffer for a row of raw pixels, possibly too small.
+     * @return The buffer used, to be reused for the next frame.
+     * @throws IOException
+     *             When the file could not be written.
+     */
+    byte[] write(Frame frame, byte[] row) throws IOException {
+        Path file = directory.resolve(
+            String.format("frame-%06d.%s", frame.index, format.extension));
+        BufferedImage image = frame.image;
+        if (format == Format.PNG) {
+            if (!ImageIO.write(image, "png", file.toFile())) {
+                throw new IOException("No PNG encoder available.");
+            }
+            return row;
+        }
+        int width = image.getWidth();
+        byte[] bytes = row.length == width * RGB_BYTES ? row : new byte[width * RGB_BYTES];
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(file))) {
+            for (int y = 0; y < image.getHeight(); y++) {
+                for (int x = 0, i = y * width; x < width; x++, i++) {
+                    int rgb = pixels[i];
+                    bytes[x * RGB_BYTES] = (byte) (rgb >> 16);
+                    bytes[x * RGB_BYTES + 1] = (byte) (rgb >> 8);
+                    bytes[x * RGB_BYTES + 2] = (byte) rgb;
+                }
+                output.write(bytes);
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * A buffer holding a composed frame.
+     */
+    static final class Frame {
+
+        /**
+         * The composed frame, or <code>null</code> before the first one.
+         */
+        private BufferedImage image;
+
+        /**
+         * The number of the frame.
+         */
+        private int index;
+    }
+}
@@ -0,0 +1,156 @@
+package nl.tudelft.jpacman.ui;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.clock.GameClock;
+
+/**
+ * Places units between squares while they move, so they can be drawn
+ * gliding at any frame rate instead of jumping whenever the game moves them.
+ * A unit is drawn between the square it left and the square it occupies,
+ * according to the time its move started and the time it takes (see
+ * {@link Unit#recordMove(Square, long)}).
+ * <p>
+ * The position is returned in fields instead of a new object, so a
+ * renderer can ask for every unit in every frame without allocating, so
+ * {@link #locate(Unit, Square, Board, int, int)} must be used by one thread
+ * only.
+ */
+class Interpolator {
+
+    /**
+     * The clock of the level, which stands still while it is paused.
+     */
+    private final GameClock clock;
+
+    /**
+     * The clock time of the current frame.
+     */
+    private long now;
+
+    /**
+     * The horizontal offset of the last unit located, in pixels.
+     */
+    private int offsetX;
+
+    /**
+     * The vertical offset of the last unit located, in pixels.
+     */
+    private int offsetY;
+
+    /**
+     * Creates a new interpolator.
+     *
+     * @param clock
+     *            The clock of the level the units move on.
+     */
+    Interpolator(GameClock clock) {
+        assert clock != null;
+        this.clock = clock;
+    }
+
+    /**
+     * Reads the time of the frame about to be rendered, so all units are
+     * placed at the same moment.
+     */
+    void startFrame() {
+        now = clock.currentTimeMillis();
+    }
+
+    /**
+     * Determines whether a unit is between squares in the current frame,
+     * without changing the offsets, so it can be called from several
+     * threads at once.
+     *
+     * @param unit
+     *            The unit to check.
+     * @param square
+     *            The square the unit occupies.
+     * @param board
+     *            The board the square is on.
+     * @return <code>true</code> iff the unit is moving.
+     */
+    boolean isMoving(Unit unit, Square square, Board board) {
+        return step(unit, square, board) != 0;
+    }
+
+    /**
+     * Determines whether a unit is between squares in the current frame, and
+     * if so how far it is drawn from the square it occupies, available from
+     * {@link #getOffsetX()} and {@link #getOffsetY()}.
+     *
+     * @param unit
+     *            The unit to locate.
+     * @param square
+     *            The square the unit occupies.
+     * @param board
+     *            The board the square is on.
+     * @param cellW
+     *            The width of a square in pixels.
+     * @param cellH
+     *            The height of a square in pixels.
+     * @return <code>true</code> iff the unit is moving.
+     */
+    boolean locate(Unit unit, Square square, Board board, int cellW, int cellH) {
+        long step = step(unit, square, board);
+        Square from = unit.getPreviousSquare();
+        if (step == 0 || from == null) {
+            return false;
+        }
+        int dx = shortest(square.getX() - from.getX(), board.getWidth());
+        int dy = shortest(square.getY() - from.getY(), board.getHeight());
+        double remaining = 1.0 - (double) (step - 1) / unit.getMoveDuration();
+        offsetX = (int) Math.round(-dx * remaining * cellW);
+        offsetY = (int) Math.round(-dy * remaining * cellH);
+        return true;
+    }
+
+    /**
+     * @return The time in milliseconds since the current move of the unit
+     *         started, plus one, or 0 if it is not between squares.
+     */
+    private long step(Unit unit, Square square, Board board) {
+        long start = unit.getMoveStart();
+        Square from = unit.getPreviousSquare();
+        long duration = unit.getMoveDuration();
+        long elapsed = now - start;
+        if (from == null || duration <= 0 || elapsed < 0 || elapsed >= duration) {
+            return 0L;
+        }
+        int dx = shortest(square.getX() - from.getX(), board.getWidth());
+        int dy = shortest(square.getY() - from.getY(), board.getHeight());
+        if (Math.abs(dx) + Math.abs(dy) != 1) {
+            return 0L;
+        }
+        return elapsed + 1;
+    }
+
+    /**
+     * @return The distance along an axis of a board that wraps around,
+     *         taking the shorter way.
+     */
+    private static int shortest(int delta, int length) {
+        if (delta > length / 2) {
+            return delta - length;
+        }
+        if (delta < -length / 2) {
+            return delta + length;
+        }
+        return delta;
+    }
+
+    /**
+     * @return The horizontal offset of the last unit located, in pixels.
+     */
+    int getOffsetX() {
+        return offsetX;
+    }
+
+    /**
+     * @return The vertical offset of the last unit located, in pixels.
+     */
+    int getOffsetY() {
+        return offsetY;
+    }
+}
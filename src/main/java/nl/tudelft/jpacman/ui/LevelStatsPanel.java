@@ -1,13 +1,13 @@
 package nl.tudelft.jpacman.ui;
 
+import nl.tudelft.jpacman.event.EventBus;
+import nl.tudelft.jpacman.event.EventSubscriber;
+import nl.tudelft.jpacman.event.GameEvent;
 import nl.tudelft.jpacman.level.Level;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class LevelStatsPanel extends JPanel {
 
@@ -16,25 +16,58 @@ public class LevelStatsPanel extends JPanel {
      */
     private static final long serialVersionUID = 1L;
 
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final long MILLIS_PER_TENTH = 100L;
+    private static final long TENTHS_PER_SECOND = 10L;
+    private static final long SECONDS_PER_MINUTE = 60L;
+    private static final long MINUTES_PER_HOUR = 60L;
+
     /**
-     * the format of the timer.
+     * The label with the timer of this game.
      */
-    private static final SimpleDateFormat SDF = new SimpleDateFormat("mm:ss.SSS");
+    private JLabel timeLabel;
 
     /**
-     * The timer.
+     * The level to display information.
      */
-    private Timer timer;
+    private Level level;
 
     /**
-     * The label with the timer of this game.
+     * The time the level has been played, in milliseconds.
      */
-    private JLabel timeLabel;
+    private long count;
 
     /**
-     * The level to display information.
+     * The clock time of the last refresh.
      */
-    private Level level;
+    private long last;
+
+    /**
+     * The time last handed to the label, in tenths of a second, or -1.
+     */
+    private long shownTenths = -1L;
+
+    /**
+     * The bus the scaring of the ghosts is followed on, or
+     * <code>null</code> to ask the level on every refresh.
+     */
+    private transient EventBus eventBus;
+
+    /**
+     * The subscription of this panel to {@link #eventBus}.
+     */
+    private transient EventSubscriber subscriber;
+
+    /**
+     * Whether the ghosts are scared, as last published on the bus.
+     */
+    private volatile boolean ghostsScared;
+
+    /**
+     * The time text still to be set on the label, or <code>null</code> if
+     * it is up to date.
+     */
+    private final AtomicReference<String> pendingTime = new AtomicReference<>();
 
     /**
      *
@@ -42,32 +75,118 @@ public class LevelStatsPanel extends JPanel {
      */
     public LevelStatsPanel(Level level){
         this.level = level;
+        this.last = level.getClock().currentTimeMillis();
 
         timeLabel = new JLabel("INIT", JLabel.CENTER);
 
         setLayout(new BorderLayout());
         add(timeLabel, BorderLayout.CENTER);
+    }
 
-        this.timer =  new Timer(5, new ActionListener(){
-            private long count;
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                if(level.isInProgress() && !level.areGhostsScared()){
-                    count += 5;
-                    timeLabel.setText(getLevelTime(count));
+    /**
+     * Follows the scaring of the ghosts on the events of a bus, instead of
+     * asking the level on every refresh.
+     *
+     * @param bus
+     *            The bus the level publishes to.
+     */
+    public void subscribeTo(EventBus bus) {
+        assert bus != null;
+        unsubscribe();
+        ghostsScared = level.areGhostsScared();
+        eventBus = bus;
+        subscriber = this::onEvent;
+        bus.subscribe(subscriber);
+    }
+
+    /**
+     * Stops following the bus subscribed to, if any.
+     */
+    public void unsubscribe() {
+        if (eventBus != null) {
+            eventBus.unsubscribe(subscriber);
+            eventBus = null;
+            subscriber = null;
+        }
+    }
+
+    private void onEvent(GameEvent event, long sequence, boolean endOfBatch) {
+        if (event.getUnit() != null) {
+            return;
+        }
+        if (event.getType() == GameEvent.Type.EFFECT_STARTED) {
+            ghostsScared = true;
+        } else if (event.getType() == GameEvent.Type.EFFECT_ENDED) {
+            ghostsScared = false;
+        }
+    }
+
+    /**
+     * @return <code>true</code> iff the ghosts are scared, as last published
+     *         on the bus subscribed to, or else as the level tells.
+     */
+    boolean areGhostsScared() {
+        return eventBus == null ? level.areGhostsScared() : ghostsScared;
+    }
+
+    /**
+     * Adds the time passed since the last refresh to the time played, while
+     * the level is in progress and the ghosts are not scared. The label is
+     * only updated, on the event dispatch thread, when the tenth of a
+     * second shown changes, and no text is made before. Can be called from
+     * any thread, but from one thread at a time.
+     */
+    void refresh() {
+        long now = level.getClock().currentTimeMillis();
+        if (level.isInProgress() && !areGhostsScared()) {
+            count += now - last;
+            long tenths = count / MILLIS_PER_TENTH;
+            if (tenths != shownTenths) {
+                shownTenths = tenths;
+                String time = getLevelTime(count);
+                if (pendingTime.getAndSet(time) == null) {
+                    SwingUtilities.invokeLater(
+                        () -> timeLabel.setText(pendingTime.getAndSet(null)));
                 }
             }
-        });
+        }
+        last = now;
+    }
 
-        this.timer.start();
+    /**
+     * @return The time the level has been played as of the last refresh, in
+     *         milliseconds.
+     */
+    long getTimePlayed() {
+        return count;
     }
 
     /**
      *
-     * @return a string representing the time of the game.
+     * @return a string representing the time of the game, as minutes,
+     * seconds and tenths of a second ("mm:ss.S").
+     */
+    static String getLevelTime(long timeInMilli){
+        long seconds = timeInMilli / MILLIS_PER_SECOND;
+        long minutes = seconds / SECONDS_PER_MINUTE;
+        StringBuilder text = new StringBuilder("Time : 00:00.0".length());
+        text.append("Time : ");
+        pad(text, minutes % MINUTES_PER_HOUR, 2).append(':');
+        pad(text, seconds % SECONDS_PER_MINUTE, 2).append('.');
+        text.append(timeInMilli / MILLIS_PER_TENTH % TENTHS_PER_SECOND);
+        return text.toString();
+    }
+
+    /**
+     * Appends a number padded with zeros to the given number of digits.
      */
-    private String getLevelTime(long timeInMilli){
-        Date date = new Date(timeInMilli);
-        return "Time : " + SDF.format(date);
+    private static StringBuilder pad(StringBuilder text, long value, int digits) {
+        long limit = 10;
+        for (int i = 1; i < digits; i++, limit *= 10) {
+            if (value < limit) {
+                text.append('0');
+            }
+        }
+        return text.append(value);
     }
 }
@@ -1,16 +1,20 @@
 package nl.tudelft.jpacman.ui;
 
 import java.awt.BorderLayout;
+import java.awt.Component;
 import java.awt.Container;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import javax.swing.JFrame;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 import javax.swing.WindowConstants;
 
+import nl.tudelft.jpacman.event.EventBus;
 import nl.tudelft.jpacman.game.Game;
 import nl.tudelft.jpacman.ui.ScorePanel.ScoreFormatter;
 
@@ -41,6 +45,12 @@ public class PacManUI extends JFrame {
      */
     private static final int FRAME_INTERVAL = 40;
 
+    /**
+     * The target frame rate meaning the UI is painted passively by Swing,
+     * at {@link #FRAME_INTERVAL}.
+     */
+    public static final int PASSIVE_RENDERING = 0;
+
     /**
      * The panel displaying the player scores.
      */
@@ -52,9 +62,56 @@ public class PacManUI extends JFrame {
     private final LevelStatsPanel levelStatsPanel;
 
     /**
-     * The panel displaying the game.
+     * The panel displaying the game when it is painted passively, or
+     * <code>null</code> if it is rendered actively.
+     */
+    private BoardPanel boardPanel;
+
+    /**
+     * The canvas displaying the game when it is rendered actively, or
+     * <code>null</code> if it is painted passively.
+     */
+    private BoardCanvas boardCanvas;
+
+    /**
+     * The game displayed.
      */
-    private final BoardPanel boardPanel;
+    private final transient Game game;
+
+    /**
+     * The target frame rate of active rendering.
+     */
+    private final int framesPerSecond;
+
+    /**
+     * <code>true</code> iff the board is composed in software.
+     */
+    private final boolean softwareRendering;
+
+    /**
+     * The camera showing part of the board, or <code>null</code>.
+     */
+    private final transient Camera camera;
+
+    /**
+     * <code>true</code> iff moving units are drawn between squares.
+     */
+    private boolean interpolating;
+
+    /**
+     * The pool composing the board in parallel, or <code>null</code>.
+     */
+    private transient ForkJoinPool renderPool;
+
+    /**
+     * The loop rendering the game actively, if started.
+     */
+    private transient RenderLoop renderLoop;
+
+    /**
+     * The service requesting passive repaints, if started.
+     */
+    private transient ScheduledExecutorService repaintService;
 
     /**
      * Creates a new UI for a JPac-Man game.
@@ -73,10 +130,70 @@ public class PacManUI extends JFrame {
     public PacManUI(final Game game, final Map<String, Action> buttons,
                     final Map<Integer, Action> keyMappings,
                     ScoreFormatter scoreFormatter) {
+        this(game, buttons, keyMappings, scoreFormatter, PASSIVE_RENDERING);
+    }
+
+    /**
+     * Creates a new UI for a JPac-Man game.
+     *
+     * @param game
+     *            The game to play.
+     * @param buttons
+     *            The map of caption-to-action entries that will appear as
+     *            buttons on the interface.
+     * @param keyMappings
+     *            The map of keyCode-to-action entries that will be added as key
+     *            listeners to the interface.
+     * @param scoreFormatter
+     *            The formatter used to display the current score.
+     * @param framesPerSecond
+     *            The target frame rate of active rendering, or
+     *            {@link #PASSIVE_RENDERING} to let Swing paint the game.
+     */
+    public PacManUI(final Game game, final Map<String, Action> buttons,
+                    final Map<Integer, Action> keyMappings,
+                    ScoreFormatter scoreFormatter, int framesPerSecond) {
+        this(game, buttons, keyMappings, scoreFormatter, framesPerSecond, false, null);
+    }
+
+    /**
+     * Creates a new UI for a JPac-Man game.
+     *
+     * @param game
+     *            The game to play.
+     * @param buttons
+     *            The map of caption-to-action entries that will appear as
+     *            buttons on the interface.
+     * @param keyMappings
+     *            The map of keyCode-to-action entries that will be added as key
+     *            listeners to the interface.
+     * @param scoreFormatter
+     *            The formatter used to display the current score.
+     * @param framesPerSecond
+     *            The target frame rate of active rendering, or
+     *            {@link #PASSIVE_RENDERING} to let Swing paint the game.
+     * @param softwareRendering
+     *            <code>true</code> to compose the board in software and blit
+     *            it once per frame, instead of drawing every sprite with
+     *            Java2D.
+     * @param camera
+     *            The camera showing the part of the board around a player,
+     *            or <code>null</code> to scale the whole board into the
+     *            window.
+     */
+    public PacManUI(final Game game, final Map<String, Action> buttons,
+                    final Map<Integer, Action> keyMappings,
+                    ScoreFormatter scoreFormatter, int framesPerSecond,
+                    boolean softwareRendering, Camera camera) {
         super("JPac-Man");
         assert game != null;
         assert buttons != null;
         assert keyMappings != null;
+        assert framesPerSecond >= 0;
+        this.game = game;
+        this.framesPerSecond = framesPerSecond;
+        this.softwareRendering = softwareRendering;
+        this.camera = camera;
 
         setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
 
@@ -92,7 +209,14 @@ public class PacManUI extends JFrame {
 
         levelStatsPanel = new LevelStatsPanel(game.getLevel());
 
-        boardPanel = new BoardPanel(game);
+        Component board;
+        if (framesPerSecond == PASSIVE_RENDERING) {
+            boardPanel = new BoardPanel(game, softwareRendering, camera);
+            board = boardPanel;
+        } else {
+            boardCanvas = new BoardCanvas(game, softwareRendering, camera);
+            board = boardCanvas;
+        }
 
         Container northContentPanel = new Container();
         Container contentPanel = getContentPane();
@@ -105,26 +229,185 @@ public class PacManUI extends JFrame {
 
         contentPanel.add(buttonPanel, BorderLayout.SOUTH);
         contentPanel.add(northContentPanel, BorderLayout.NORTH);
-        contentPanel.add(boardPanel, BorderLayout.CENTER);
+        contentPanel.add(board, BorderLayout.CENTER);
 
         pack();
     }
 
+    /**
+     * Draws units gliding from square to square at the frame rate of the
+     * UI, instead of jumping whenever the game moves them. Best combined
+     * with active rendering at a high frame rate; the game keeps moving
+     * units at its own pace. Must be called before {@link #start()}.
+     */
+    public void enableInterpolation() {
+        interpolating = true;
+        if (boardPanel != null) {
+            boardPanel.interpolateMoves();
+        }
+        if (boardCanvas != null) {
+            boardCanvas.interpolateMoves();
+        }
+    }
+
+    /**
+     * Composes the board in horizontal bands in parallel, each band into its
+     * own rows of one image that is shown once it is complete. Only applies
+     * if the board is composed in software. Must be called before
+     * {@link #start()}.
+     *
+     * @param pool
+     *            The pool composing the bands.
+     */
+    public void enableParallelRendering(ForkJoinPool pool) {
+        assert pool != null;
+        renderPool = pool;
+        if (boardPanel != null) {
+            boardPanel.renderInParallel(pool);
+        }
+        if (boardCanvas != null) {
+            boardCanvas.renderInParallel(pool);
+        }
+    }
+
     /**
      * Starts the "engine", the thread that redraws the interface at set
-     * intervals.
+     * intervals. With active rendering this is a render loop drawing the
+     * game directly; if the canvas can not get a buffer strategy the UI
+     * falls back to passive painting. If the level publishes its events to
+     * a bus, the scores are refreshed from those instead of every frame,
+     * and the time played follows the scaring of the ghosts on it.
      */
     public void start() {
         setVisible(true);
-        ScheduledExecutorService service = Executors.newSingleThreadScheduledExecutor();
-        service.scheduleAtFixedRate(this::nextFrame, 0, FRAME_INTERVAL, TimeUnit.MILLISECONDS);
+        EventBus bus = game.getLevel().getEventBus();
+        if (bus != null) {
+            scorePanel.subscribeTo(bus);
+            levelStatsPanel.subscribeTo(bus);
+        }
+        if (boardCanvas == null) {
+            startPassiveRendering();
+        } else if (!startActiveRendering()) {
+            SwingUtilities.invokeLater(() -> {
+                if (isDisplayable()) {
+                    fallBackToPassive();
+                    startPassiveRendering();
+                }
+            });
+        }
+    }
+
+    /**
+     * Starts the thread requesting the board panel to be repainted.
+     */
+    private void startPassiveRendering() {
+        repaintService = Executors.newSingleThreadScheduledExecutor();
+        repaintService.scheduleAtFixedRate(this::nextFrame, 0, FRAME_INTERVAL,
+            TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates the buffers of the canvas and starts the render loop.
+     *
+     * @return <code>true</code> iff active rendering was started.
+     */
+    private boolean startActiveRendering() {
+        try {
+            boardCanvas.createBuffers();
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            return false;
+        }
+        if (boardCanvas.getBufferStrategy() == null) {
+            return false;
+        }
+        renderLoop = new RenderLoop(this::nextActiveFrame, framesPerSecond);
+        renderLoop.start();
+        return true;
+    }
+
+    /**
+     * Replaces the canvas by a panel painted by Swing. Must be called on the
+     * event dispatch thread, as it changes the components shown.
+     */
+    private void fallBackToPassive() {
+        Container contentPanel = getContentPane();
+        contentPanel.remove(boardCanvas);
+        boardCanvas = null;
+        boardPanel = new BoardPanel(game, softwareRendering, camera);
+        if (renderPool != null) {
+            boardPanel.renderInParallel(renderPool);
+        }
+        if (interpolating) {
+            boardPanel.interpolateMoves();
+        }
+        contentPanel.add(boardPanel, BorderLayout.CENTER);
+        contentPanel.revalidate();
     }
 
     /**
      * Draws the next frame, i.e. refreshes the scores and game.
      */
     private void nextFrame() {
-        boardPanel.repaint();
-        scorePanel.refresh();
+        boardPanel.repaintChanges();
+        if (!scorePanel.isSubscribed()) {
+            scorePanel.refresh();
+        }
+        levelStatsPanel.refresh();
+    }
+
+    /**
+     * Renders the next frame of active rendering on the render thread.
+     */
+    private void nextActiveFrame() {
+        boardCanvas.renderFrame();
+        if (!scorePanel.isSubscribed()) {
+            scorePanel.refresh();
+        }
+        levelStatsPanel.refresh();
+    }
+
+    /**
+     * @return <code>true</code> iff the game is rendered actively.
+     */
+    public boolean isActiveRendering() {
+        return renderLoop != null && renderLoop.isRunning();
+    }
+
+    /**
+     * @return The number of frames rendered actively.
+     */
+    public long getFramesRendered() {
+        return renderLoop == null ? 0L : renderLoop.getFrameCount();
+    }
+
+    /**
+     * @return The number of frames skipped by active rendering to keep up.
+     */
+    public long getFramesSkipped() {
+        return renderLoop == null ? 0L : renderLoop.getSkippedFrames();
+    }
+
+    /**
+     * @return The moving average of the time it takes to render a frame
+     *         actively, in nanoseconds.
+     */
+    public double getAverageFrameNanos() {
+        return renderLoop == null ? 0.0 : renderLoop.getAverageFrameNanos();
+    }
+
+    /**
+     * Stops redrawing the interface before disposing of it.
+     */
+    @Override
+    public void dispose() {
+        if (renderLoop != null) {
+            renderLoop.stop();
+        }
+        if (repaintService != null) {
+            repaintService.shutdownNow();
+        }
+        scorePanel.unsubscribe();
+        levelStatsPanel.unsubscribe();
+        super.dispose();
     }
 }
@@ -3,8 +3,10 @@ package nl.tudelft.jpacman.ui;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.level.Player;
 import nl.tudelft.jpacman.ui.ScorePanel.ScoreFormatter;
 
 /**
@@ -44,6 +46,32 @@ public class PacManUiBuilder {
      */
     private ScoreFormatter scoreFormatter = null;
 
+    /**
+     * The target frame rate of active rendering, or
+     * {@link PacManUI#PASSIVE_RENDERING}.
+     */
+    private int framesPerSecond = PacManUI.PASSIVE_RENDERING;
+
+    /**
+     * <code>true</code> iff the board is composed in software.
+     */
+    private boolean softwareRendering;
+
+    /**
+     * The camera showing part of the board, or <code>null</code>.
+     */
+    private Camera camera;
+
+    /**
+     * <code>true</code> iff moving units are drawn between squares.
+     */
+    private boolean interpolation;
+
+    /**
+     * The pool composing the board in parallel, or <code>null</code>.
+     */
+    private ForkJoinPool renderPool;
+
     /**
      * Creates a new Pac-Man UI builder without any mapped keys or buttons.
      */
@@ -67,7 +95,15 @@ public class PacManUiBuilder {
             addStartButton(game);
             addStopButton(game);
         }
-        return new PacManUI(game, buttons, keyMappings, scoreFormatter);
+        PacManUI ui = new PacManUI(game, buttons, keyMappings, scoreFormatter, framesPerSecond,
+            softwareRendering, camera);
+        if (renderPool != null) {
+            ui.enableParallelRendering(renderPool);
+        }
+        if (interpolation) {
+            ui.enableInterpolation();
+        }
+        return ui;
     }
 
     /**
@@ -156,4 +192,83 @@ public class PacManUiBuilder {
         this.scoreFormatter = scoreFormatter;
         return this;
     }
+
+    /**
+     * Renders the game actively on a dedicated thread instead of letting
+     * Swing paint it.
+     *
+     * @param targetFramesPerSecond
+     *         The number of frames to render per second.
+     *
+     * @return The builder.
+     */
+    public PacManUiBuilder withActiveRendering(int targetFramesPerSecond) {
+        assert targetFramesPerSecond > 0;
+        this.framesPerSecond = targetFramesPerSecond;
+        return this;
+    }
+
+    /**
+     * Composes the board in software and blits it once per frame, which
+     * keeps the cost of a frame predictable where Java2D is not accelerated.
+     *
+     * @return The builder.
+     */
+    public PacManUiBuilder withSoftwareRendering() {
+        this.softwareRendering = true;
+        return this;
+    }
+
+    /**
+     * Shows only the part of the board around a player, with squares of a
+     * fixed size, instead of scaling the whole board into the window.
+     *
+     * @param target
+     *         The player to follow.
+     * @param cellSize
+     *         The size of a square in pixels.
+     *
+     * @return The builder.
+     */
+    public PacManUiBuilder withCamera(Player target, int cellSize) {
+        this.camera = new Camera(target, cellSize);
+        return this;
+    }
+
+    /**
+     * Draws units gliding between squares at the frame rate of the UI,
+     * instead of jumping whenever the game moves them.
+     *
+     * @return The builder.
+     */
+    public PacManUiBuilder withInterpolation() {
+        this.interpolation = true;
+        return this;
+    }
+
+    /**
+     * Composes the board in software, in bands in parallel on the common
+     * fork-join pool, for views of boards too large to render on one thread.
+     *
+     * @return The builder.
+     */
+    public PacManUiBuilder withParallelRendering() {
+        return withParallelRendering(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Composes the board in software, in bands in parallel on the given
+     * pool.
+     *
+     * @param pool
+     *         The pool composing the bands.
+     *
+     * @return The builder.
+     */
+    public PacManUiBuilder withParallelRendering(ForkJoinPool pool) {
+        assert pool != null;
+        this.softwareRendering = true;
+        this.renderPool = pool;
+        return this;
+    }
 }
@@ -1,12 +1,11 @@
 package nl.tudelft.jpacman.ui;
 
 import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.clock.GameClock;
+import nl.tudelft.jpacman.clock.RealTimeClock;
 import nl.tudelft.jpacman.game.Game;
 import nl.tudelft.jpacman.level.Player;
 
-import java.util.Timer;
-import java.util.TimerTask;
-
 /**
  * Class to manage the player continious movement
  * @author BOOSKO Sam
@@ -33,9 +32,9 @@ public class PlayerController{
     private boolean isMoving;
 
     /**
-     * Timer for the player movement.
+     * Clock scheduling the player movement.
      */
-    private final Timer timer;
+    private final GameClock clock;
 
     /**
      * Contructor
@@ -43,12 +42,22 @@ public class PlayerController{
      * @param player that controller controls.
      */
     public PlayerController(Game game, Player player){
+        this(game, player, new RealTimeClock());
+    }
+
+    /**
+     * Contructor
+     * @param game where the player is.
+     * @param player that controller controls.
+     * @param clock scheduling the movement steps.
+     */
+    public PlayerController(Game game, Player player, GameClock clock){
         this.game = game;
         this.player = player;
 
         this.currentDirection = null;
 
-        this.timer = new Timer();
+        this.clock = clock;
     }
 
     /**
@@ -78,7 +87,7 @@ public class PlayerController{
      * Schedule the next moving step.
      */
     private void nextStep(){
-        this.timer.schedule(new PlayerTaskMovement(), this.getNextStepTime());
+        this.clock.schedule(new PlayerTaskMovement(), this.getNextStepTime());
     }
 
     /**
@@ -91,7 +100,7 @@ public class PlayerController{
     /**
      * Runnable class to move the player depending on his speed and direction.
      */
-    private class PlayerTaskMovement extends TimerTask {
+    private class PlayerTaskMovement implements Runnable {
 
         @Override
         public void run() {
@@ -0,0 +1,474 @@
+package nl.tudelft.jpacman.ui;
+
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.specialbox.SpecialBox;
+import nl.tudelft.jpacman.sprite.AnimatedSprite;
+import nl.tudelft.jpacman.sprite.EmptySprite;
+import nl.tudelft.jpacman.sprite.ImageSprite;
+import nl.tudelft.jpacman.sprite.Sprite;
+
+/**
+ * Renders a board in software. The pixels of the sprites are composited
+ * into the <code>int[]</code> of an image in plain loops, and the image is
+ * blitted onto the graphics context in a single call. The cost of a frame
+ * does not depend on Java2D acceleration, which makes it predictable on
+ * headless or remote displays.
+ * <p>
+ * With a pool, bands of rows are composed in parallel into the same
+ * image; the result is identical to composing them one by one.
+ * <p>
+ * The composed frame is kept between calls, so only the squares inside the
+ * clip of the graphics context are composited again, unless moving units
+ * are drawn between squares.
+ */
+class RasterRenderer extends BoardRenderer {
+
+    /**
+     * The colour of the board where no square is drawn, opaque black.
+     */
+    private static final int BACKGROUND_RGB = 0xFF000000;
+
+    private static final int OPAQUE = 0xFF;
+
+    /**
+     * The number of layers the occupants of a square are drawn in.
+     */
+    private static final int LAYERS = 3;
+
+    /**
+     * The number of bands per thread of the pool, so threads that finish
+     * early can take over work.
+     */
+    private static final int BANDS_PER_THREAD = 4;
+
+    /**
+     * The composed frame.
+     */
+    private BufferedImage frame;
+
+    /**
+     * The pixels of {@link #frame}.
+     */
+    private int[] framePixels;
+
+    /**
+     * The pixels of the walls and floor, in the layout of the frame.
+     */
+    private int[] backgroundPixels;
+
+    /**
+     * The board the background was composed for.
+     */
+    private Board frameBoard;
+
+    /**
+     * The state of every thread composing squares.
+     */
+    private final ThreadLocal<Worker> workers = ThreadLocal.withInitial(Worker::new);
+
+    /**
+     * The pool composing bands of rows in parallel, or <code>null</code> to
+     * compose on the rendering thread.
+     */
+    private volatile ForkJoinPool pool;
+
+    /**
+     * Creates a new renderer composing on the rendering thread.
+     *
+     * @param component
+     *            The component the board is shown on, or <code>null</code>
+     *            to render off-screen.
+     */
+    RasterRenderer(Component component) {
+        this(component, null);
+    }
+
+    /**
+     * Creates a new renderer.
+     *
+     * @param component
+     *            The component the board is shown on, or <code>null</code>
+     *            to render off-screen.
+     * @param pool
+     *            The pool composing bands of rows in parallel, or
+     *            <code>null</code> to compose on the rendering thread.
+     */
+    RasterRenderer(Component component, ForkJoinPool pool) {
+        super(component);
+        this.pool = pool;
+    }
+
+    /**
+     * Composes bands of rows in parallel on the given pool from the next
+     * frame on.
+     *
+     * @param composers
+     *            The pool, or <code>null</code> to compose on the rendering
+     *            thread.
+     */
+    void setPool(ForkJoinPool composers) {
+        this.pool = composers;
+    }
+
+    @Override
+    void invalidateBackground() {
+        frame = null;
+    }
+
+    @Override
+    void render(Board board, Graphics graphics, Dimension window) {
+        int width = Math.max(1, window.width);
+        int height = Math.max(1, window.height);
+        int cellW = window.width / board.getWidth();
+        int cellH = window.height / board.getHeight();
+
+        Rectangle clip = getInterpolator() == null ? graphics.getClipBounds() : null;
+        if (frame == null || frameBoard != board
+            || frame.getWidth() != width || frame.getHeight() != height) {
+            createFrame(board, width, height, cellW, cellH);
+            clip = null;
+        }
+        if (cellW > 0 && cellH > 0) {
+            compose(board, clip, cellW, cellH);
+        }
+        graphics.drawImage(frame, 0, 0, null);
+    }
+
+    /**
+     * Creates the frame and composes the walls and floor of the board.
+     */
+    private void createFrame(Board board, int width, int height, int cellW, int cellH) {
+        frame = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        framePixels = ((DataBufferInt) frame.getRaster().getDataBuffer()).getData();
+        frameBoard = board;
+
+        int[] pixels = new int[width * height];
+        Arrays.fill(pixels, BACKGROUND_RGB);
+        if (cellW > 0 && cellH > 0) {
+            Worker worker = workers.get();
+            for (int y = 0; y < board.getHeight(); y++) {
+                for (int x = 0; x < board.getWidth(); x++) {
+                    worker.blend(pixels, width, x * cellW, y * cellH,
+                        board.squareAt(x, y).getSprite(), cellW, cellH);
+                }
+            }
+        }
+        backgroundPixels = pixels;
+        System.arraycopy(pixels, 0, framePixels, 0, pixels.length);
+    }
+
+    /**
+     * Composes the squares of the board overlapping the clip into the frame.
+     * Units standing still never leave their square, so the rows of squares
+     * are independent and are composed in bands on the pool, if any. Moving
+     * units are composed afterwards, in the same order as when composing
+     * sequentially, which keeps the result identical.
+     *
+     * @param board
+     *            The board to compose.
+     * @param clip
+     *            The area to compose, or <code>null</code> for everything.
+     * @param cellW
+     *            The width of a square in pixels.
+     * @param cellH
+     *            The height of a square in pixels.
+     */
+    private void compose(Board board, Rectangle clip, int cellW, int cellH) {
+        int firstX = 0;
+        int firstY = 0;
+        int lastX = board.getWidth() - 1;
+        int lastY = board.getHeight() - 1;
+        if (clip != null) {
+            firstX = Math.max(firstX, clip.x / cellW);
+            firstY = Math.max(firstY, clip.y / cellH);
+            lastX = Math.min(lastX, (clip.x + clip.width - 1) / cellW);
+            lastY = Math.min(lastY, (clip.y + clip.height - 1) / cellH);
+        }
+        startFrame();
+        Interpolator interpolator = getInterpolator();
+        Grid grid = new Grid(board, firstX, lastX, cellW, cellH);
+        ForkJoinPool pool = this.pool;
+        if (pool == null || lastY <= firstY) {
+            composeRows(grid, firstY, lastY + 1);
+        } else {
+            int rows = lastY - firstY + 1;
+            int band = Math.max(1, rows / (pool.getParallelism() * BANDS_PER_THREAD));
+            pool.invoke(new Band(grid, firstY, lastY + 1, band));
+        }
+        if (interpolator == null) {
+            return;
+        }
+        Worker worker = workers.get();
+        for (int y = firstY; y <= lastY; y++) {
+            for (int x = firstX; x <= lastX; x++) {
+                Square square = board.squareAt(x, y);
+                if (!square.isFree()) {
+                    worker.composeMoving(board, square, framePixels, frame.getWidth(),
+                        interpolator, x * cellW, y * cellH, cellW, cellH);
+                }
+            }
+        }
+    }
+
+    /**
+     * Restores the background of a range of rows of squares and composes
+     * the units standing still on them.
+     *
+     * @param grid
+     *            The squares being composed.
+     * @param fromY
+     *            The first row of squares.
+     * @param toY
+     *            The row of squares after the last one.
+     */
+    private void composeRows(Grid grid, int fromY, int toY) {
+        Worker worker = workers.get();
+        int width = frame.getWidth();
+        int cellW = grid.cellW;
+        int cellH = grid.cellH;
+        for (int y = fromY; y < toY; y++) {
+            for (int x = grid.firstX; x <= grid.lastX; x++) {
+                int left = x * cellW;
+                int top = y * cellH;
+                for (int row = top; row < top + cellH; row++) {
+                    System.arraycopy(backgroundPixels, row * width + left,
+                        framePixels, row * width + left, cellW);
+                }
+                Square square = grid.board.squareAt(x, y);
+                if (!square.isFree()) {
+                    worker.composeStill(grid.board, square, framePixels, width,
+                        getInterpolator(), left, top, cellW, cellH);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The layer the unit is drawn in, following
+     *         {@link Square#getGraphicalOrderedOccupants()}: units below a
+     *         bridge, special boxes, and the other units.
+     */
+    private static int layerOf(Unit unit) {
+        if (unit instanceof SpecialBox) {
+            return 1;
+        }
+        return unit.getVerticalPosition() == Unit.VerticalPos.UP ? 0 : 2;
+    }
+
+    /**
+     * Blends packed ARGB pixels over a rectangle of the destination pixels,
+     * leaving out the part of the rectangle outside the destination.
+     */
+    private static void blend(int[] dest, int destWidth, int left, int top, int[] source,
+                              int width, int height) {
+        int destHeight = dest.length / destWidth;
+        int firstRow = Math.max(0, -top);
+        int lastRow = Math.min(height, destHeight - top);
+        int firstColumn = Math.max(0, -left);
+        int lastColumn = Math.min(width, destWidth - left);
+        for (int row = firstRow; row < lastRow; row++) {
+            int d = (top + row) * destWidth + left + firstColumn;
+            int s = row * width + firstColumn;
+            for (int end = row * width + lastColumn; s < end; s++, d++) {
+                int pixel = source[s];
+                int alpha = pixel >>> 24;
+                if (alpha == OPAQUE) {
+                    dest[d] = pixel;
+                } else if (alpha != 0) {
+                    dest[d] = over(pixel, alpha, dest[d]);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The translucent pixel blended over the opaque pixel.
+     */
+    private static int over(int pixel, int alpha, int under) {
+        int inverse = OPAQUE - alpha;
+        int r = (((pixel >> 16) & OPAQUE) * alpha + ((under >> 16) & OPAQUE) * inverse) / OPAQUE;
+        int g = (((pixel >> 8) & OPAQUE) * alpha + ((under >> 8) & OPAQUE) * inverse) / OPAQUE;
+        int b = ((pixel & OPAQUE) * alpha + (under & OPAQUE) * inverse) / OPAQUE;
+        return BACKGROUND_RGB | (r << 16) | (g << 8) | b;
+    }
+
+    /**
+     * The squares of a frame being composed, shared by all bands.
+     */
+    private static final class Grid {
+
+        private final Board board;
+        private final int firstX;
+        private final int lastX;
+        private final int cellW;
+        private final int cellH;
+
+        Grid(Board board, int firstX, int lastX, int cellW, int cellH) {
+            this.board = board;
+            this.firstX = firstX;
+            this.lastX = lastX;
+            this.cellW = cellW;
+            this.cellH = cellH;
+        }
+    }
+
+    /**
+     * Composes a band of rows of squares, splitting it in halves until it is
+     * small enough.
+     */
+    private final class Band extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Grid grid;
+        private final int fromY;
+        private final int toY;
+        private final int size;
+
+        Band(Grid grid, int fromY, int toY, int size) {
+            this.grid = grid;
+            this.fromY = fromY;
+            this.toY = toY;
+            this.size = size;
+        }
+
+        @Override
+        protected void compute() {
+            if (toY - fromY <= size) {
+                composeRows(grid, fromY, toY);
+                return;
+            }
+            int middle = (fromY + toY) >>> 1;
+            invokeAll(new Band(grid, fromY, middle, size), new Band(grid, middle, toY, size));
+        }
+    }
+
+    /**
+     * The state a thread needs to compose squares, so bands can be composed
+     * concurrently. It does not refer to its renderer, so pool threads do
+     * not keep renderers alive.
+     */
+    private static final class Worker {
+
+        /**
+         * Reused to composite the occupants of a square without allocating.
+         */
+        private final List<Unit> occupants = new ArrayList<>();
+
+        /**
+         * A cell sized image to rasterise sprites that do not expose their
+         * pixels, or <code>null</code>.
+         */
+        private BufferedImage scratch;
+
+        /**
+         * Composes the occupants of a square that stand still, in the order
+         * they are drawn by {@link BoardRenderer}. Writes only the pixels of
+         * the square.
+         */
+        void composeStill(Board board, Square square, int[] dest, int width,
+                          Interpolator interpolator, int left, int top, int cellW, int cellH) {
+            square.collectOrderedOccupants(occupants);
+            for (int layer = 0; layer < LAYERS; layer++) {
+                for (int i = 0; i < occupants.size(); i++) {
+                    Unit unit = occupants.get(i);
+                    if (layerOf(unit) == layer && (interpolator == null
+                        || !interpolator.isMoving(unit, square, board))) {
+                        blend(dest, width, left, top, unit.getSprite(), cellW, cellH);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Composes the occupants of a square that move, where they are on
+         * their way. Only called on the rendering thread.
+         */
+        void composeMoving(Board board, Square square, int[] dest, int width,
+                           Interpolator interpolator, int left, int top, int cellW, int cellH) {
+            square.collectOrderedOccupants(occupants);
+            for (int layer = 0; layer < LAYERS; layer++) {
+                for (int i = 0; i < occupants.size(); i++) {
+                    Unit unit = occupants.get(i);
+                    if (layerOf(unit) == layer
+                        && interpolator.locate(unit, square, board, cellW, cellH)) {
+                        blend(dest, width, left + interpolator.getOffsetX(),
+                            top + interpolator.getOffsetY(), unit.getSprite(), cellW, cellH);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Blends a sprite over a rectangle of the destination pixels.
+         *
+         * @param dest
+         *            The destination pixels.
+         * @param destWidth
+         *            The width of a row of the destination.
+         * @param left
+         *            The left side of the rectangle.
+         * @param top
+         *            The top side of the rectangle.
+         * @param sprite
+         *            The sprite to blend.
+         * @param width
+         *            The width of the rectangle.
+         * @param height
+         *            The height of the rectangle.
+         */
+        void blend(int[] dest, int destWidth, int left, int top, Sprite sprite,
+                   int width, int height) {
+            Sprite current = sprite;
+            while (current instanceof AnimatedSprite) {
+                current = ((AnimatedSprite) current).getCurrentFrame();
+            }
+            if (current == null || current instanceof EmptySprite) {
+                return;
+            }
+            int[] source;
+            if (current instanceof ImageSprite) {
+                source = ((ImageSprite) current).getPixels(width, height);
+            } else {
+                source = rasterise(current, width, height);
+            }
+            RasterRenderer.blend(dest, destWidth, left, top, source, width, height);
+        }
+
+        /**
+         * Draws a sprite that does not expose its pixels onto a scratch image.
+         *
+         * @return The pixels of the sprite, valid until the next call.
+         */
+        private int[] rasterise(Sprite sprite, int width, int height) {
+            if (scratch == null || scratch.getWidth() != width
+                || scratch.getHeight() != height) {
+                scratch = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            }
+            int[] pixels = ((DataBufferInt) scratch.getRaster().getDataBuffer()).getData();
+            Arrays.fill(pixels, 0);
+            Graphics2D graphics = scratch.createGraphics();
+            try {
+                sprite.draw(graphics, 0, 0, width, height);
+            } finally {
+                graphics.dispose();
+            }
+            return pixels;
+        }
+    }
+}
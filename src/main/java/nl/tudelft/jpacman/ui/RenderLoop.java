@@ -0,0 +1,233 @@
+package nl.tudelft.jpacman.ui;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives active rendering: a dedicated thread that renders frames at a
+ * target rate. The loop keeps to a fixed schedule of frame deadlines; when
+ * a frame (or the game competing for the processor) overruns by more than
+ * a whole frame, the frames that were missed are skipped instead of being
+ * rendered back to back, so the display catches up with the game at once.
+ */
+class RenderLoop implements Runnable {
+
+    /**
+     * The weight of the last frame in the average frame time.
+     */
+    private static final double AVERAGE_WEIGHT = 0.1;
+
+    /**
+     * The time to wait for the thread when the loop is stopped.
+     */
+    private static final long STOP_TIMEOUT = 1000L;
+
+    /**
+     * Tells the time and waits for it on the system clock.
+     */
+    private static final Ticker SYSTEM_TICKER = new Ticker() {
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+
+        @Override
+        public void parkNanos(long nanos) {
+            LockSupport.parkNanos(nanos);
+        }
+    };
+
+    /**
+     * Renders a single frame.
+     */
+    private final Runnable frame;
+
+    /**
+     * Tells the time of the frames and waits for their deadlines.
+     */
+    private final Ticker ticker;
+
+    /**
+     * The time between two frames in nanoseconds.
+     */
+    private final long period;
+
+    /**
+     * The thread running this loop, or <code>null</code> if it is not
+     * started.
+     */
+    private Thread thread;
+
+    private volatile boolean running;
+
+    private volatile long frames;
+
+    private volatile long skipped;
+
+    private volatile long lastFrameNanos;
+
+    private volatile double averageFrameNanos;
+
+    /**
+     * Creates a new loop.
+     *
+     * @param frame
+     *            Renders a single frame.
+     * @param framesPerSecond
+     *            The target number of frames per second.
+     */
+    RenderLoop(Runnable frame, int framesPerSecond) {
+        this(frame, framesPerSecond, SYSTEM_TICKER);
+    }
+
+    /**
+     * Creates a new loop keeping time by the given ticker.
+     *
+     * @param frame
+     *            Renders a single frame.
+     * @param framesPerSecond
+     *            The target number of frames per second.
+     * @param ticker
+     *            Tells the time and waits for the frame deadlines.
+     */
+    RenderLoop(Runnable frame, int framesPerSecond, Ticker ticker) {
+        assert frame != null;
+        assert ticker != null;
+        if (framesPerSecond <= 0) {
+            throw new IllegalArgumentException(
+                "Frame rate must be positive, got " + framesPerSecond);
+        }
+        this.frame = frame;
+        this.ticker = ticker;
+        this.period = TimeUnit.SECONDS.toNanos(1L) / framesPerSecond;
+    }
+
+    /**
+     * Starts rendering on a new daemon thread. Has no effect if the loop
+     * is running.
+     */
+    synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this, "render-loop");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops rendering after the current frame.
+     */
+    void stop() {
+        Thread current;
+        synchronized (this) {
+            running = false;
+            current = thread;
+            thread = null;
+        }
+        if (current != null && current != Thread.currentThread()) {
+            LockSupport.unpark(current);
+            try {
+                current.join(STOP_TIMEOUT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        long deadline = ticker.nanoTime();
+        while (running) {
+            long start = ticker.nanoTime();
+            frame.run();
+            long end = ticker.nanoTime();
+            record(end - start);
+
+            deadline += period;
+            long behind = end - deadline;
+            if (behind > period) {
+                long missed = behind / period;
+                skipped += missed;
+                deadline += missed * period;
+            }
+            long wait = deadline - ticker.nanoTime();
+            if (wait > 0) {
+                ticker.parkNanos(wait);
+            }
+        }
+    }
+
+    /**
+     * Updates the frame statistics with the time of the last frame.
+     */
+    private void record(long nanos) {
+        lastFrameNanos = nanos;
+        averageFrameNanos = frames == 0 ? nanos
+            : averageFrameNanos + AVERAGE_WEIGHT * (nanos - averageFrameNanos);
+        frames++;
+    }
+
+    /**
+     * @return <code>true</code> iff the loop is running.
+     */
+    boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * @return The time between two frames in nanoseconds.
+     */
+    long getPeriodNanos() {
+        return period;
+    }
+
+    /**
+     * @return The number of frames rendered.
+     */
+    long getFrameCount() {
+        return frames;
+    }
+
+    /**
+     * @return The number of frames skipped to catch up after an overrun.
+     */
+    long getSkippedFrames() {
+        return skipped;
+    }
+
+    /**
+     * @return The time it took to render the last frame in nanoseconds.
+     */
+    long getLastFrameNanos() {
+        return lastFrameNanos;
+    }
+
+    /**
+     * @return The moving average of the time it takes to render a frame in
+     *         nanoseconds.
+     */
+    double getAverageFrameNanos() {
+        return averageFrameNanos;
+    }
+
+    /**
+     * The time a loop keeps, in nanoseconds, and the way it waits for it.
+     */
+    interface Ticker {
+
+        /**
+         * @return The current time in nanoseconds, from an arbitrary origin.
+         */
+        long nanoTime();
+
+        /**
+         * Waits for about the given time, or less if the loop is stopped.
+         *
+         * @param nanos
+         *            The time to wait in nanoseconds.
+         */
+        void parkNanos(long nanos);
+    }
+}
@@ -1,14 +1,20 @@
 package nl.tudelft.jpacman.ui;
 
 import java.awt.GridLayout;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 
-import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.event.EventBus;
+import nl.tudelft.jpacman.event.EventSubscriber;
+import nl.tudelft.jpacman.event.GameEvent;
 import nl.tudelft.jpacman.level.Player;
 
 /**
@@ -41,16 +47,71 @@ public class ScorePanel extends JPanel {
     private final Map<Player, JLabel[]> scoreLabels;
 
     /**
-     * The default way in which the score is shown.
+     * The default way in which the score is shown, as
+     * <code>String.format("Score: %3d", score)</code> without parsing a
+     * format string every time.
      */
     public static final ScoreFormatter DEFAULT_SCORE_FORMATTER =
-        (Player player) -> String.format("Score: %3d", player.getScore());
+        (Player player) -> padScore(player.getScore());
+
+    /**
+     * The minimum width of the score in the default format.
+     */
+    private static final int SCORE_WIDTH = 3;
+
+    /**
+     * The players shown, in the order of {@link #scoreLabels}.
+     */
+    private final Player[] players;
+
+    /**
+     * For every player the score shown, or -1 if nothing is shown yet.
+     */
+    private final int[] shownScores;
+
+    /**
+     * For every player the number of lives shown.
+     */
+    private final int[] shownLives;
+
+    /**
+     * For every player whether it was shown alive.
+     */
+    private final boolean[] shownAlive;
+
+    /**
+     * For every player the score and lives texts still to be set on the
+     * labels, two per player, or <code>null</code> if they are up to date.
+     */
+    private final AtomicReferenceArray<String> pendingTexts;
+
+    /**
+     * <code>true</code> iff the pending texts are about to be set on the
+     * event dispatch thread.
+     */
+    private final AtomicBoolean updateScheduled = new AtomicBoolean();
 
     /**
      * The way to format the score information.
      */
     private ScoreFormatter scoreFormatter = DEFAULT_SCORE_FORMATTER;
 
+    /**
+     * The bus this panel refreshes from, or <code>null</code>.
+     */
+    private transient EventBus eventBus;
+
+    /**
+     * The subscription of this panel to {@link #eventBus}.
+     */
+    private transient EventSubscriber subscriber;
+
+    /**
+     * <code>true</code> iff an event of the current batch changed a score or
+     * lives. Only used on the thread of the subscription.
+     */
+    private boolean playersChanged;
+
     /**
      * Creates a new score panel with a column for each player.
      *
@@ -66,6 +127,16 @@ public class ScorePanel extends JPanel {
         for (int i = 1; i <= players.size(); i++) {
             add(new JLabel("Player " + i, JLabel.CENTER));
         }
+        this.players = players.toArray(new Player[0]);
+        this.shownScores = new int[players.size()];
+        this.shownLives = new int[players.size()];
+        this.shownAlive = new boolean[players.size()];
+        this.pendingTexts = new AtomicReferenceArray<>(2 * players.size());
+        for (int i = 0; i < players.size(); i++) {
+            shownScores[i] = -1;
+            shownLives[i] = players.get(i).getLifeLeft();
+            shownAlive[i] = true;
+        }
         scoreLabels = new LinkedHashMap<>();
         for (Player player : players) {
             JLabel scoreLabel = new JLabel("0", JLabel.CENTER);
@@ -83,23 +154,122 @@ public class ScorePanel extends JPanel {
     }
 
     /**
-     * Refreshes the scores of the players.
+     * Refreshes the scores of the players. Texts are only formatted for
+     * players whose score, lives or death changed since the last refresh,
+     * and set on the labels on the event dispatch thread, so an unchanged
+     * score costs a few comparisons. Can be called from any thread, but
+     * from one thread at a time.
      */
     protected void refresh() {
-        for (Map.Entry<Player, JLabel[]> entry : scoreLabels.entrySet()) {
-            Player player = entry.getKey();
-            JLabel[] labels = entry.getValue();
+        boolean changed = false;
+        for (int i = 0; i < players.length; i++) {
+            Player player = players[i];
+            int score = player.getScore();
+            boolean alive = player.isAlive();
+            if (score != shownScores[i] || alive != shownAlive[i]) {
+                shownScores[i] = score;
+                shownAlive[i] = alive;
+                String text = scoreFormatter.format(player);
+                if (!alive) {
+                    text = "You died. " + text;
+                }
+                pendingTexts.set(2 * i + PLAYER_SCORE_LABEL_INDEX, text);
+                changed = true;
+            }
+            int lives = player.getLifeLeft();
+            if (lives != shownLives[i]) {
+                shownLives[i] = lives;
+                pendingTexts.set(2 * i + PLAYER_LIFE_LEFT_LABEL_INDEX,
+                    getLifeLeftLabelText(player));
+                changed = true;
+            }
+        }
+        if (changed && updateScheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::applyPendingTexts);
+        }
+    }
+
+    /**
+     * Refreshes the scores from the events of a bus instead of being
+     * refreshed every frame: once for every batch of events that changed a
+     * score or lives, on the thread of the subscription. From then on
+     * {@link #refresh()} should only be called by the subscription.
+     *
+     * @param bus
+     *            The bus the level of the players publishes to.
+     */
+    public void subscribeTo(EventBus bus) {
+        assert bus != null;
+        unsubscribe();
+        refresh();
+        eventBus = bus;
+        subscriber = this::onEvent;
+        bus.subscribe(subscriber);
+    }
+
+    /**
+     * Stops refreshing from the bus subscribed to, if any.
+     */
+    public void unsubscribe() {
+        if (eventBus != null) {
+            eventBus.unsubscribe(subscriber);
+            eventBus = null;
+            subscriber = null;
+        }
+    }
 
-            String score = "";
-            if (!player.isAlive()) {
-                score = "You died. ";
+    /**
+     * @return <code>true</code> iff this panel refreshes from the events of
+     *         a bus.
+     */
+    public boolean isSubscribed() {
+        return eventBus != null;
+    }
+
+    private void onEvent(GameEvent event, long sequence, boolean endOfBatch) {
+        GameEvent.Type type = event.getType();
+        if (type == GameEvent.Type.SCORE_CHANGED || type == GameEvent.Type.LIVES_CHANGED) {
+            playersChanged = true;
+        }
+        if (endOfBatch && playersChanged) {
+            playersChanged = false;
+            refresh();
+        }
+    }
+
+    /**
+     * Sets the pending texts on the labels, on the event dispatch thread.
+     */
+    private void applyPendingTexts() {
+        updateScheduled.set(false);
+        for (int i = 0; i < players.length; i++) {
+            JLabel[] labels = scoreLabels.get(players[i]);
+            for (int index = 0; index < labels.length; index++) {
+                String text = pendingTexts.getAndSet(2 * i + index, null);
+                if (text != null) {
+                    labels[index].setText(text);
+                }
             }
-            score += scoreFormatter.format(player);
-            labels[PLAYER_SCORE_LABEL_INDEX].setText(score);
-            labels[PLAYER_LIFE_LEFT_LABEL_INDEX].setText(getLifeLeftLabelText(player));
         }
     }
 
+    /**
+     * @param score
+     *            The score to format.
+     * @return The score as <code>"Score: "</code> followed by the score,
+     *         padded with spaces to at least {@value #SCORE_WIDTH}
+     *         characters.
+     */
+    private static String padScore(int score) {
+        String digits = Integer.toString(score);
+        StringBuilder text = new StringBuilder("Score: ".length() + SCORE_WIDTH);
+        text.append("Score: ");
+        for (int i = digits.length(); i < SCORE_WIDTH; i++) {
+            text.append(' ');
+        }
+        return text.append(digits).toString();
+    }
+
     /**
      * Provide means to format the score for a given player.
      */
@@ -120,5 +290,6 @@ public class ScorePanel extends JPanel {
     public void setScoreFormatter(ScoreFormatter scoreFormatter) {
         assert scoreFormatter != null;
         this.scoreFormatter = scoreFormatter;
+        Arrays.fill(shownScores, -1);
     }
 }
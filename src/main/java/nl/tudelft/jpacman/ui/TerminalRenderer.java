@@ -0,0 +1,388 @@
+package nl.tudelft.jpacman.ui;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.ChangeTracker;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.FruitPellet;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.Pellet;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.level.PowerPellet;
+import nl.tudelft.jpacman.level.specialbox.BridgeBox;
+import nl.tudelft.jpacman.level.specialbox.TeleporterBox;
+import nl.tudelft.jpacman.level.specialbox.TrapBox;
+import nl.tudelft.jpacman.level.specialpellet.FishPellet;
+import nl.tudelft.jpacman.level.specialpellet.GrenadePellet;
+import nl.tudelft.jpacman.level.specialpellet.PepperPellet;
+import nl.tudelft.jpacman.level.specialpellet.PotatoPellet;
+import nl.tudelft.jpacman.level.specialpellet.TomatoPellet;
+import nl.tudelft.jpacman.npc.Ghost;
+
+/**
+ * Draws a level on a terminal with one character per square, using the
+ * characters of the map files (see
+ * {@link nl.tudelft.jpacman.level.MapParser}), followed by a line with the
+ * score and lives of the first player. Nothing of AWT or Swing is used, so
+ * a game can be watched over a plain ssh connection.
+ * <p>
+ * The first frame clears the screen and draws every square. Later frames
+ * only look at the squares that changed since this renderer last drew them
+ * (see {@link ChangeTracker}) and write the characters that changed, each
+ * after an ANSI escape moving the cursor there. The renderer keeps its own
+ * counts, so a board can be shown on a terminal and in a window at once.
+ */
+public class TerminalRenderer implements AutoCloseable {
+
+    /**
+     * The start of an ANSI control sequence.
+     */
+    private static final String CSI = "\u001b[";
+
+    /**
+     * The character shown for a square no character is known for.
+     */
+    private static final char UNKNOWN = '?';
+
+    /**
+     * The level to draw.
+     */
+    private final Level level;
+
+    /**
+     * The terminal to draw on.
+     */
+    private final OutputStream out;
+
+    /**
+     * The character shown for every square, or all zero before the first
+     * frame.
+     */
+    private final char[][] shown;
+
+    /**
+     * The text of the control sequences and characters of a frame, reused
+     * between frames.
+     */
+    private final StringBuilder text = new StringBuilder();
+
+    /**
+     * The modification counts of the squares as last drawn.
+     */
+    private final ChangeTracker changes = new ChangeTracker();
+
+    /**
+     * Reused to look at the occupants of a square without allocating.
+     */
+    private final List<Unit> occupants = new ArrayList<>();
+
+    /**
+     * The score shown below the board, or -1 if none is shown.
+     */
+    private int shownScore = -1;
+
+    /**
+     * The lives shown below the board.
+     */
+    private int shownLives;
+
+    /**
+     * Whether the player was shown alive.
+     */
+    private boolean shownAlive;
+
+    /**
+     * <code>true</code> iff the whole board was drawn.
+     */
+    private boolean drawn;
+
+    /**
+     * The column the cursor is at after the last character written, or -1
+     * if unknown.
+     */
+    private int cursorX = -1;
+
+    /**
+     * The row the cursor is at after the last character written.
+     */
+    private int cursorY = -1;
+
+    /**
+     * Renders frames at a fixed rate, or <code>null</code> if not started.
+     */
+    private RenderLoop loop;
+
+    /**
+     * The first error writing a frame from the loop, or <code>null</code>.
+     */
+    private volatile IOException failure;
+
+    /**
+     * Creates a new renderer.
+     *
+     * @param level
+     *            The level to draw.
+     * @param out
+     *            The terminal to draw on, typically {@link System#out}.
+     */
+    public TerminalRenderer(Level level, OutputStream out) {
+        assert level != null;
+        assert out != null;
+        this.level = level;
+        this.out = out;
+        Board board = level.getBoard();
+        this.shown = new char[board.getWidth()][board.getHeight()];
+    }
+
+    /**
+     * Starts drawing frames at the given rate on a new daemon thread. The
+     * loop stops writing at the first error, which is thrown by
+     * {@link #close()}.
+     *
+     * @param framesPerSecond
+     *            The number of frames per second.
+     */
+    public synchronized void start(int framesPerSecond) {
+        if (loop != null) {
+            return;
+        }
+        loop = new RenderLoop(() -> {
+            if (failure != null) {
+                return;
+            }
+            try {
+                renderFrame();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }, framesPerSecond);
+        loop.start();
+    }
+
+    /**
+     * Writes the squares that changed since the last frame, or the whole
+     * board on the first frame.
+     *
+     * @throws IOException
+     *             When the terminal could not be written to.
+     */
+    public synchronized void renderFrame() throws IOException {
+        text.setLength(0);
+        Board board = level.getBoard();
+        if (!drawn) {
+            text.append(CSI).append("?25l").append(CSI).append("2J");
+            cursorX = -1;
+        }
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++) {
+                Square square = board.squareAt(x, y);
+                if ((changes.takeChange(board, square) || !drawn) && update(x, y, symbolOf(square))) {
+                    moveTo(x, y);
+                    text.append(shown[x][y]);
+                    cursorX++;
+                }
+            }
+        }
+        drawn = true;
+
+        Player player = level.getOnePlayer();
+        if (player != null && (player.getScore() != shownScore
+            || player.getLifeLeft() != shownLives || player.isAlive() != shownAlive)) {
+            shownScore = player.getScore();
+            shownLives = player.getLifeLeft();
+            shownAlive = player.isAlive();
+            moveTo(0, board.getHeight());
+            text.append("Score: ").append(shownScore).append("  Lives: ").append(shownLives);
+            if (!shownAlive) {
+                text.append("  You died.");
+            }
+            text.append(CSI).append('K');
+            cursorX = -1;
+        }
+        if (text.length() > 0) {
+            out.write(text.toString().getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+        }
+    }
+
+    /**
+     * Records the character of a square.
+     *
+     * @return <code>true</code> iff the character differs from the one
+     *         shown.
+     */
+    private boolean update(int x, int y, char symbol) {
+        if (shown[x][y] == symbol) {
+            return false;
+        }
+        shown[x][y] = symbol;
+        return true;
+    }
+
+    /**
+     * Moves the cursor to a square, unless it is already there after
+     * writing the square to its left.
+     */
+    private void moveTo(int x, int y) {
+        if (cursorX == x && cursorY == y) {
+            return;
+        }
+        text.append(CSI).append(y + 1).append(';').append(x + 1).append('H');
+        cursorX = x;
+        cursorY = y;
+    }
+
+    /**
+     * Determines the character of a square, as it would be written in a
+     * map file: players first, then ghosts, special boxes and pellets.
+     *
+     * @param square
+     *            The square to show.
+     * @return The character of the square.
+     */
+    char symbolOf(Square square) {
+        if (square instanceof BoardFactory.Wall) {
+            return '#';
+        }
+        char symbol = ' ';
+        int rank = 0;
+        square.collectOrderedOccupants(occupants);
+        for (int i = 0; i < occupants.size(); i++) {
+            Unit unit = occupants.get(i);
+            int unitRank = rankOf(unit);
+            if (unitRank > rank) {
+                rank = unitRank;
+                symbol = symbolOf(unit);
+            }
+        }
+        occupants.clear();
+        return symbol;
+    }
+
+    /**
+     * @return How visible a unit is, the most visible unit on a square
+     *         being shown.
+     */
+    private static int rankOf(Unit unit) {
+        if (unit instanceof Player) {
+            return 4;
+        }
+        if (unit instanceof Ghost) {
+            return 3;
+        }
+        if (unit instanceof Pellet) {
+            return 1;
+        }
+        return 2;
+    }
+
+    /**
+     * @return The character of a unit.
+     */
+    @SuppressWarnings("PMD.CyclomaticComplexity")
+    private static char symbolOf(Unit unit) {
+        if (unit instanceof Player) {
+            return 'P';
+        }
+        if (unit instanceof Ghost) {
+            return 'G';
+        }
+        if (unit instanceof TrapBox) {
+            return 'x';
+        }
+        if (unit instanceof TeleporterBox) {
+            return 'o';
+        }
+        if (unit instanceof BridgeBox) {
+            Direction direction = unit.getDirection();
+            return direction == Direction.NORTH || direction == Direction.SOUTH ? '|' : '-';
+        }
+        if (unit instanceof PowerPellet) {
+            return '0';
+        }
+        if (unit instanceof FruitPellet) {
+            return symbolOf(((FruitPellet) unit).getType());
+        }
+        if (unit instanceof GrenadePellet) {
+            return 'g';
+        }
+        if (unit instanceof PepperPellet) {
+            return 'p';
+        }
+        if (unit instanceof TomatoPellet) {
+            return 't';
+        }
+        if (unit instanceof FishPellet) {
+            return 'f';
+        }
+        if (unit instanceof PotatoPellet) {
+            return 'h';
+        }
+        if (unit instanceof Pellet) {
+            return '.';
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * @return The character of a fruit.
+     */
+    private static char symbolOf(FruitPellet.FruitType type) {
+        if (type == null) {
+            return UNKNOWN;
+        }
+        switch (type) {
+            case APPLE:
+                return 'A';
+            case CHERRY:
+                return 'C';
+            case MELON:
+                return 'M';
+            case ORANGE:
+                return 'O';
+            case STRAWBERRY:
+                return 'S';
+            default:
+                return UNKNOWN;
+        }
+    }
+
+    /**
+     * Stops the loop, if started, and leaves the cursor visible below the
+     * board.
+     *
+     * @throws IOException
+     *             When the terminal could not be written to, now or while
+     *             the loop was running.
+     */
+    @Override
+    public void close() throws IOException {
+        RenderLoop running;
+        synchronized (this) {
+            running = loop;
+            loop = null;
+        }
+        if (running != null) {
+            running.stop();
+        }
+        synchronized (this) {
+            text.setLength(0);
+            moveTo(0, level.getBoard().getHeight() + 1);
+            text.append(CSI).append("?25h");
+            out.write(text.toString().getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+        }
+        IOException error = failure;
+        if (error != null) {
+            throw error;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package nl.tudelft.jpacman;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.clock.VirtualClock;
 import nl.tudelft.jpacman.game.Game;
 import nl.tudelft.jpacman.level.Player;
 
@@ -17,7 +18,8 @@ import org.junit.jupiter.api.Test;
  * This is <strong>not</strong> a <em>unit</em> test -- it is an end-to-end test
  * trying to execute a large portion of the system's behavior directly from the
  * user interface. It uses the actual sprites and monster AI, and hence
- * has little control over what is happening in the game.
+ * has little control over what is happening in the game. The game runs on a
+ * virtual clock, so the monsters only move when the test advances it.
  * <p>
  * Because it is an end-to-end test, it is somewhat longer
  * and has more assert statements than what would be good
@@ -29,6 +31,8 @@ public class LauncherSmokeTest {
 
     private Launcher launcher;
 
+    private VirtualClock clock;
+
     /**
      * Static Magic Numbers configuration test one
      */
@@ -48,7 +52,11 @@ public class LauncherSmokeTest {
 
     private static final int PLAYER_INDEX = 0;
 
-    private static final long THREAD_SLEEP_TIME = 500L;
+    private static final long MONSTER_MOVE_TIME = 500L;
+
+    private static final long SCARED_TIME = 7000L;
+
+    private static final long SEED = 42L;
 
     /**
      * Static Magic Numbers configuration test two
@@ -74,7 +82,8 @@ public class LauncherSmokeTest {
     @BeforeEach
 
     void setUpPacman() {
-        launcher = new Launcher();
+        clock = new VirtualClock();
+        launcher = new Launcher().withClock(clock).withSeed(SEED);
         launcher.launch();
     }
 
@@ -90,12 +99,10 @@ public class LauncherSmokeTest {
      * Launch the game, and imitate what would happen in a typical game.
      * The test is only a smoke test, and not a focused small test.
      * Therefore it is OK that the method is a bit too long.
-     *
-     * @throws InterruptedException Since we're sleeping in this test.
      */
     @SuppressWarnings({"magicnumber", "methodlength", "PMD.JUnitTestContainsTooManyAsserts"})
     @Test
-    void smokeTest() throws InterruptedException {
+    void smokeTest() {
         Game game = launcher.getGame();
         Player player = game.getPlayers().get(PLAYER_INDEX);
 
@@ -127,9 +134,8 @@ public class LauncherSmokeTest {
 
         move(game, Direction.NORTH, STEP6_MOVE_NUM);
 
-        // Sleeping in tests is generally a bad idea.
-        // Here we do it just to let the monsters move.
-        Thread.sleep(THREAD_SLEEP_TIME);
+        // let the monsters move.
+        clock.advance(MONSTER_MOVE_TIME);
 
         // we're close to monsters, this will get us killed.
         move(game, Direction.WEST, KILLING_MOVE_NUM);
@@ -144,7 +150,7 @@ public class LauncherSmokeTest {
      * Test to check fruits and power pellet.
      */
     @Test
-    void smokeTest2() throws InterruptedException {
+    void smokeTest2() {
         Game game = launcher.getGame();
         Player player = game.getPlayers().get(PLAYER_INDEX);
 
@@ -156,11 +162,11 @@ public class LauncherSmokeTest {
         move(game, STEP1_MOVES2);
         assertThat(player.getScore()).isEqualTo(STEP1_SCORE2);
 
-        assertThat(game.getLevel().areGhostsScared());
+        assertThat(game.getLevel().areGhostsScared()).isTrue();
 
-        Thread.sleep(7000);
+        clock.advance(SCARED_TIME);
 
-        assertThat(!game.getLevel().areGhostsScared());
+        assertThat(game.getLevel().areGhostsScared()).isFalse();
 
         move(game, STEP2_MOVES2);
         assertThat(player.getLifeLeft()).isEqualTo(2);
@@ -1,5 +1,8 @@
 package nl.tudelft.jpacman.board;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
@@ -53,4 +56,61 @@ class BoardTest {
     void testSquareAt(int x, int y) {
         assertThat(board.squareAt(x, y)).isEqualTo(grid[x][y]);
     }
+
+    /**
+     * Verifies that the squares of a board know their position on it.
+     */
+    @Test
+    void squaresKnowTheirPosition() {
+        Square[][] basicGrid = {
+            { new BasicSquare(), new BasicSquare() },
+            { new BasicSquare(), new BasicSquare() },
+        };
+        Board basicBoard = new Board(basicGrid);
+
+        assertThat(basicBoard.squareAt(1, 0).getX()).isEqualTo(1);
+        assertThat(basicBoard.squareAt(1, 0).getY()).isEqualTo(0);
+        assertThat(basicBoard.squareAt(0, 1).getX()).isEqualTo(0);
+        assertThat(basicBoard.squareAt(0, 1).getY()).isEqualTo(1);
+        assertThat(new BasicSquare().getX()).isEqualTo(-1);
+    }
+
+    /**
+     * Verifies that open squares are connected across the edges, as the
+     * squares of a board are linked, and that walls separate them otherwise.
+     */
+    @Test
+    void connectsAcrossEdges() {
+        // two columns of three rows: y * 2 + x, with (0, 1) and (1, 1) walls
+        boolean[] open = { true, true, false, false, true, true };
+        assertThat(Board.isConnected(2, 3, index -> open[index])).isTrue();
+
+        // one row of five: an open square walled in on both sides
+        boolean[] walled = { true, false, true, false, true };
+        assertThat(Board.isConnected(5, 1, index -> walled[index])).isFalse();
+        assertThat(Board.isConnected(2, 2, index -> false)).isFalse();
+    }
+
+    /**
+     * Verifies that the observers of a board are told about every change of
+     * its squares, until they are removed.
+     */
+    @Test
+    void observersHearOfChangedSquares() {
+        Board basic = new Board(new Square[][] {
+            { new BasicSquare(), new BasicSquare() },
+        });
+        List<Square> changed = new ArrayList<>();
+        Board.SquareObserver observer = changed::add;
+        basic.addObserver(observer);
+
+        Unit unit = new BasicUnit();
+        unit.occupy(basic.squareAt(0, 1));
+        unit.occupy(basic.squareAt(0, 0));
+        basic.removeObserver(observer);
+        basic.squareAt(0, 1).markDirty();
+
+        assertThat(changed).containsExactly(
+            basic.squareAt(0, 1), basic.squareAt(0, 1), basic.squareAt(0, 0));
+    }
 }
@@ -0,0 +1,73 @@
+package nl.tudelft.jpacman.board;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that every {@link ChangeTracker} sees the changes of a square,
+ * however many look at the same board.
+ */
+class ChangeTrackerTest {
+
+    private Board board;
+    private Square square;
+
+    @BeforeEach
+    void setUp() {
+        board = new Board(new Square[][] {
+            { new BasicSquare(), new BasicSquare() },
+            { new BasicSquare(), new BasicSquare() },
+        });
+        square = board.squareAt(1, 0);
+    }
+
+    /**
+     * Verifies that a square is changed the first time it is looked at, and
+     * again only after it changed.
+     */
+    @Test
+    void reportsChangesOnce() {
+        ChangeTracker tracker = new ChangeTracker();
+        assertThat(tracker.takeChange(board, square)).isTrue();
+        assertThat(tracker.takeChange(board, square)).isFalse();
+
+        square.markDirty();
+        assertThat(tracker.takeChange(board, square)).isTrue();
+        assertThat(tracker.takeChange(board, square)).isFalse();
+        assertThat(tracker.takeChange(board, board.squareAt(0, 1))).isTrue();
+    }
+
+    /**
+     * Verifies that one tracker looking at a change does not hide it from
+     * another one.
+     */
+    @Test
+    void trackersDoNotShareChanges() {
+        ChangeTracker window = new ChangeTracker();
+        ChangeTracker terminal = new ChangeTracker();
+        window.takeChange(board, square);
+        terminal.takeChange(board, square);
+
+        square.markDirty();
+        assertThat(window.takeChange(board, square)).isTrue();
+        assertThat(terminal.takeChange(board, square)).isTrue();
+    }
+
+    /**
+     * Verifies that all squares count as changed once another board is
+     * looked at.
+     */
+    @Test
+    void anotherBoardIsDrawnAgain() {
+        ChangeTracker tracker = new ChangeTracker();
+        tracker.takeChange(board, square);
+        Board other = new Board(new Square[][] {
+            { new BasicSquare(), new BasicSquare() },
+            { square, new BasicSquare() },
+        });
+
+        assertThat(tracker.takeChange(other, square)).isTrue();
+    }
+}
@@ -55,7 +55,7 @@ public class SpecialPelletTest {
         }
 
         public void scheduleEffectDuration(Player player){
-            super.scheduleEffectDuration(player, EFFECT_DUR_TESTS);
+            super.scheduleEffectDuration(dumbLevel, player, EFFECT_DUR_TESTS);
         }
 
     }
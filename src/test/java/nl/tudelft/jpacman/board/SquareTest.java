@@ -62,4 +62,25 @@ class SquareTest {
 
         assertThat(square.getOccupants()).containsSequence(o1, o2);
     }
+
+    /**
+     * Assert that a square counts a change when a unit enters, turns on or
+     * leaves it, and not when a unit keeps facing the same way.
+     */
+    @Test
+    void testModificationCount() {
+        int count = square.getModificationCount();
+
+        Unit unit = new BasicUnit();
+        unit.occupy(square);
+        assertThat(square.getModificationCount()).isEqualTo(count + 1);
+
+        unit.setDirection(Direction.NORTH);
+        assertThat(square.getModificationCount()).isEqualTo(count + 2);
+        unit.setDirection(Direction.NORTH);
+        assertThat(square.getModificationCount()).isEqualTo(count + 2);
+
+        unit.leaveSquare();
+        assertThat(square.getModificationCount()).isEqualTo(count + 3);
+    }
 }
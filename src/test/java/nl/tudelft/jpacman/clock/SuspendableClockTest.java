@@ -0,0 +1,95 @@
+package nl.tudelft.jpacman.clock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests suspending and resuming a {@link SuspendableClock}.
+ */
+@SuppressWarnings("magicnumber")
+class SuspendableClockTest {
+
+    private VirtualClock base;
+    private SuspendableClock clock;
+    private List<Long> executed;
+
+    @BeforeEach
+    void setUp() {
+        base = new VirtualClock();
+        clock = new SuspendableClock(base);
+        executed = new ArrayList<>();
+    }
+
+    /**
+     * Verifies that a suspended clock stands still and keeps the remaining
+     * delay of its tasks until it is resumed.
+     */
+    @Test
+    void suspendFreezesRemainingDelay() {
+        clock.schedule(() -> executed.add(base.currentTimeMillis()), 100L);
+        base.advance(40L);
+
+        clock.suspend();
+        base.advance(1000L);
+        assertThat(executed).isEmpty();
+        assertThat(clock.currentTimeMillis()).isEqualTo(40L);
+
+        clock.resume();
+        base.advance(59L);
+        assertThat(executed).isEmpty();
+        base.advance(1L);
+        assertThat(executed).containsExactly(1100L);
+        assertThat(clock.currentTimeMillis()).isEqualTo(100L);
+    }
+
+    /**
+     * Verifies that tasks scheduled while suspended only start counting down
+     * once the clock is resumed.
+     */
+    @Test
+    void scheduleWhileSuspended() {
+        clock.suspend();
+        clock.schedule(() -> executed.add(base.currentTimeMillis()), 10L);
+        base.advance(100L);
+        assertThat(executed).isEmpty();
+
+        clock.resume();
+        base.advance(10L);
+        assertThat(executed).containsExactly(110L);
+    }
+
+    /**
+     * Verifies that repeated suspending and resuming neither loses nor
+     * duplicates tasks.
+     */
+    @Test
+    void rapidSuspendResume() {
+        clock.schedule(() -> executed.add(clock.currentTimeMillis()), 50L);
+        for (int i = 0; i < 1000; i++) {
+            clock.suspend();
+            base.advance(1L);
+            clock.resume();
+        }
+        base.advance(50L);
+        assertThat(executed).containsExactly(50L);
+        assertThat(clock.getPendingTasks()).isZero();
+    }
+
+    /**
+     * Verifies that cancelled tasks are not resumed.
+     */
+    @Test
+    void cancelAll() {
+        clock.schedule(() -> executed.add(0L), 10L);
+        clock.suspend();
+        clock.cancelAll();
+        clock.resume();
+        base.advance(100L);
+        assertThat(executed).isEmpty();
+    }
+}
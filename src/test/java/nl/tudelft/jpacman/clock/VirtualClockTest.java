@@ -0,0 +1,91 @@
+package nl.tudelft.jpacman.clock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the execution order and timing of a {@link VirtualClock}.
+ */
+@SuppressWarnings("magicnumber")
+class VirtualClockTest {
+
+    private VirtualClock clock;
+    private List<String> executed;
+
+    @BeforeEach
+    void setUp() {
+        clock = new VirtualClock();
+        executed = new ArrayList<>();
+    }
+
+    /**
+     * Verifies that tasks only run once the clock passes their due time.
+     */
+    @Test
+    void runsTasksWhenDue() {
+        clock.schedule(() -> executed.add("a"), 100L);
+
+        clock.advance(99L);
+        assertThat(executed).isEmpty();
+
+        clock.advance(1L);
+        assertThat(executed).containsExactly("a");
+        assertThat(clock.currentTimeMillis()).isEqualTo(100L);
+    }
+
+    /**
+     * Verifies that tasks run in order of due time, and tasks due at the
+     * same time in scheduling order, each one seeing its own due time.
+     */
+    @Test
+    void runsTasksInOrder() {
+        List<Long> times = new ArrayList<>();
+        clock.schedule(() -> executed.add("late"), 50L);
+        clock.schedule(() -> executed.add("first"), 10L);
+        clock.schedule(() -> executed.add("second"), 10L);
+        clock.schedule(() -> times.add(clock.currentTimeMillis()), 30L);
+
+        clock.advance(1000L);
+        assertThat(executed).containsExactly("first", "second", "late");
+        assertThat(times).containsExactly(30L);
+        assertThat(clock.currentTimeMillis()).isEqualTo(1000L);
+    }
+
+    /**
+     * Verifies that tasks rescheduling themselves keep running while the
+     * clock is advanced.
+     */
+    @Test
+    void runsRepeatingTasks() {
+        Runnable tick = new Runnable() {
+            @Override
+            public void run() {
+                executed.add("tick");
+                clock.schedule(this, 10L);
+            }
+        };
+        clock.schedule(tick, 10L);
+
+        clock.advance(100L);
+        assertThat(executed).hasSize(10);
+        assertThat(clock.getPendingTasks()).isEqualTo(1);
+    }
+
+    /**
+     * Verifies that cancelled tasks are never run.
+     */
+    @Test
+    void cancelledTasksDoNotRun() {
+        GameClock.ScheduledTask task = clock.schedule(() -> executed.add("a"), 10L);
+        task.cancel();
+
+        clock.advance(100L);
+        assertThat(executed).isEmpty();
+        assertThat(clock.getPendingTasks()).isZero();
+    }
+}
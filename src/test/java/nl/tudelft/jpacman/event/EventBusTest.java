@@ -0,0 +1,220 @@
+package nl.tudelft.jpacman.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the delivery of events by an {@link EventBus}.
+ */
+@SuppressWarnings("magicnumber")
+class EventBusTest {
+
+    private EventBus bus;
+
+    @AfterEach
+    void tearDown() {
+        if (bus != null) {
+            bus.close();
+        }
+    }
+
+    /**
+     * Verifies that events are delivered in order, with the last event of
+     * every batch marked as such.
+     *
+     * @throws InterruptedException If the wait for the events is interrupted.
+     */
+    @Test
+    void deliversInOrder() throws InterruptedException {
+        bus = new EventBus(16);
+        List<Integer> values = Collections.synchronizedList(new ArrayList<>());
+        List<Boolean> endOfBatch = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(100);
+        bus.subscribe((event, sequence, end) -> {
+            values.add(event.getValue());
+            endOfBatch.add(end);
+            done.countDown();
+        });
+
+        for (int i = 0; i < 100; i++) {
+            bus.publish(GameEvent.Type.SCORE_CHANGED, null, null, i, i);
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            expected.add(i);
+        }
+        assertThat(values).isEqualTo(expected);
+        assertThat(endOfBatch.get(endOfBatch.size() - 1)).isTrue();
+    }
+
+    /**
+     * Verifies that concurrent publishers on a small buffer lose no events
+     * for any of the subscribers.
+     *
+     * @throws InterruptedException If the wait for the events is interrupted.
+     */
+    @Test
+    void concurrentPublishers() throws InterruptedException {
+        bus = new EventBus(8);
+        final int perThread = 2000;
+        final int threads = 4;
+        CountDownLatch first = new CountDownLatch(perThread * threads);
+        CountDownLatch second = new CountDownLatch(perThread * threads);
+        bus.subscribe((event, sequence, end) -> first.countDown());
+        bus.subscribe((event, sequence, end) -> second.countDown());
+
+        List<Thread> publishers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread publisher = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    bus.publish(GameEvent.Type.UNIT_MOVED, null, null, i, 0L);
+                }
+            });
+            publishers.add(publisher);
+            publisher.start();
+        }
+        for (Thread publisher : publishers) {
+            publisher.join();
+        }
+
+        assertThat(first.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(second.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(bus.getLastSequence()).isEqualTo(perThread * threads - 1L);
+    }
+
+    /**
+     * Verifies that a subscriber without events parks until it is woken,
+     * instead of waking up on a timer, and is woken by the next event.
+     *
+     * @throws InterruptedException If the wait for the events is interrupted.
+     */
+    @Test
+    void idleSubscriberWaitsForPublish() throws InterruptedException {
+        bus = new EventBus(16);
+        Thread[] subscriberThread = new Thread[1];
+        CountDownLatch first = new CountDownLatch(1);
+        CountDownLatch second = new CountDownLatch(2);
+        bus.subscribe((event, sequence, end) -> {
+            subscriberThread[0] = Thread.currentThread();
+            first.countDown();
+            second.countDown();
+        });
+        bus.publish(GameEvent.Type.UNIT_MOVED, null, null, 0, 0L);
+        assertThat(first.await(5, TimeUnit.SECONDS)).isTrue();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5L);
+        while (subscriberThread[0].getState() != Thread.State.WAITING
+            && System.nanoTime() < deadline) {
+            Thread.sleep(1L);
+        }
+        assertThat(subscriberThread[0].getState()).isEqualTo(Thread.State.WAITING);
+
+        bus.publish(GameEvent.Type.UNIT_MOVED, null, null, 1, 0L);
+        assertThat(second.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    /**
+     * Verifies that trying to publish into a full buffer drops and counts
+     * the event at once, and that the events published before are still
+     * delivered.
+     *
+     * @throws InterruptedException If the wait for the events is interrupted.
+     */
+    @Test
+    void tryPublishDropsWhenFull() throws InterruptedException {
+        bus = new EventBus(4);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> values = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(4);
+        bus.subscribe((event, sequence, end) -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            values.add(event.getValue());
+            done.countDown();
+        });
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(bus.tryPublish(GameEvent.Type.UNIT_MOVED, null, null, i, 0L)).isTrue();
+        }
+        assertThat(bus.tryPublish(GameEvent.Type.UNIT_MOVED, null, null, 4, 0L)).isFalse();
+        assertThat(bus.getDroppedEvents()).isEqualTo(1L);
+
+        release.countDown();
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(values).containsExactly(0, 1, 2, 3);
+        assertThat(bus.getLastSequence()).isEqualTo(3L);
+    }
+
+    /**
+     * Verifies that publishing without subscribers does not claim events.
+     */
+    @Test
+    void noSubscribers() {
+        bus = new EventBus();
+        bus.publish(GameEvent.Type.LEVEL_WON, null, null, 0, 0L);
+        assertThat(bus.getLastSequence()).isEqualTo(-1L);
+    }
+
+    /**
+     * Verifies that removed subscribers no longer receive events and do not
+     * block publishers.
+     */
+    @Test
+    void unsubscribe() {
+        bus = new EventBus(4);
+        EventSubscriber blocked = (event, sequence, end) -> {
+            // never handles anything in time
+        };
+        bus.subscribe(blocked);
+        bus.unsubscribe(blocked);
+
+        for (int i = 0; i < 100; i++) {
+            bus.publish(GameEvent.Type.UNIT_MOVED, null, null, i, 0L);
+        }
+        assertThat(bus.getSubscriberCount()).isZero();
+    }
+
+    /**
+     * Verifies that a subscriber killed by an error is dropped, so
+     * publishers do not wait for it once the buffer is full.
+     */
+    @Test
+    void deadSubscriberDoesNotBlockPublishers() {
+        bus = new EventBus(4);
+        bus.subscribe((event, sequence, end) -> {
+            throw new StackOverflowError("subscriber died");
+        });
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            for (int i = 0; i < 100; i++) {
+                bus.publish(GameEvent.Type.UNIT_MOVED, null, null, i, 0L);
+            }
+        });
+        assertThat(bus.getSubscriberCount()).isZero();
+    }
+
+    /**
+     * Verifies that the capacity must be a power of two.
+     */
+    @Test
+    void invalidCapacity() {
+        assertThatThrownBy(() -> new EventBus(100))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,196 @@
+package nl.tudelft.jpacman.game;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.collect.Lists;
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.event.GameEvent;
+import nl.tudelft.jpacman.npc.Ghost;
+import nl.tudelft.jpacman.clock.VirtualClock;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the lifecycle of games running on a {@link GameHost}.
+ */
+@SuppressWarnings("magicnumber")
+class GameHostTest {
+
+    private static final int THREADS = 2;
+    private static final int GAMES = 100;
+
+    /**
+     * A map with ghosts far enough from the player to keep it alive.
+     */
+    private static final List<String> MAP = Lists.newArrayList(
+        "##############",
+        "#.G G       P#",
+        "##############");
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    private GameHost host;
+
+    @BeforeEach
+    void setUp() {
+        host = new GameHost(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        host.shutdown();
+    }
+
+    /**
+     * Verifies that many running games share the threads of the host.
+     *
+     * @throws InterruptedException Since we let the ghosts move.
+     */
+    @Test
+    void gamesShareThreads() throws InterruptedException {
+        int before = threads.getThreadCount();
+        List<Game> games = new ArrayList<>();
+        for (int i = 0; i < GAMES; i++) {
+            games.add(host.createGame(MAP));
+        }
+        host.startAll();
+        Thread.sleep(500L);
+
+        assertThat(host.getGameCount()).isEqualTo(GAMES);
+        assertThat(games).allMatch(Game::isInProgress);
+        assertThat(threads.getThreadCount()).isLessThanOrEqualTo(before + THREADS);
+        assertThat(host.getTotalMoves()).isPositive();
+        assertThat(host.getMovesPerSecond()).isPositive();
+    }
+
+    /**
+     * Verifies that stopped games no longer move.
+     *
+     * @throws InterruptedException Since we let the ghosts move.
+     */
+    @Test
+    void stopFreezesMoves() throws InterruptedException {
+        Game game = host.createGame(MAP);
+        host.start(game);
+        Thread.sleep(300L);
+        host.stop(game);
+        Thread.sleep(50L);
+
+        long moves = host.getTotalMoves();
+        Thread.sleep(300L);
+        assertThat(game.isInProgress()).isFalse();
+        assertThat(host.getTotalMoves()).isEqualTo(moves);
+    }
+
+    /**
+     * Verifies that disposed games leave the host but keep counting towards
+     * its throughput.
+     *
+     * @throws InterruptedException Since we let the ghosts move.
+     */
+    @Test
+    void disposeRemovesGame() throws InterruptedException {
+        Game game = host.createGame(MAP);
+        host.start(game);
+        Thread.sleep(300L);
+        host.dispose(game);
+
+        assertThat(host.getGameCount()).isZero();
+        assertThat(game.isInProgress()).isFalse();
+        assertThat(host.getTotalMoves()).isEqualTo(game.getLevel().getMoveCount());
+    }
+
+    /**
+     * Verifies that games on a virtual clock only move when the clock is
+     * advanced, without any threads of the host.
+     */
+    @Test
+    void virtualClockFastForwards() {
+        VirtualClock clock = new VirtualClock();
+        try (GameHost virtualHost = new GameHost(clock, new PacManSprites(clock))) {
+            Game game = virtualHost.createGame(MAP);
+            virtualHost.start(game);
+            assertThat(virtualHost.getTotalMoves()).isZero();
+
+            clock.advance(60_000L);
+            assertThat(virtualHost.getThreadCount()).isZero();
+            assertThat(virtualHost.getTotalMoves()).isPositive();
+        }
+    }
+
+    /**
+     * Verifies that the levels of a host publish their moves to the bus of
+     * the host.
+     *
+     * @throws InterruptedException If the wait for the events is interrupted.
+     */
+    @Test
+    void gamesPublishToHostBus() throws InterruptedException {
+        VirtualClock clock = new VirtualClock();
+        try (GameHost virtualHost = new GameHost(clock, new PacManSprites(clock))) {
+            AtomicLong moved = new AtomicLong();
+            virtualHost.getEventBus().subscribe((event, sequence, end) -> {
+                if (event.getType() == GameEvent.Type.UNIT_MOVED) {
+                    moved.incrementAndGet();
+                }
+            });
+            virtualHost.start(virtualHost.createGame(MAP));
+            clock.advance(10_000L);
+
+            long deadline = System.currentTimeMillis() + 5000L;
+            while (moved.get() < virtualHost.getTotalMoves()
+                && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10L);
+            }
+            assertThat(virtualHost.getTotalMoves()).isPositive();
+            assertThat(moved.get()).isEqualTo(virtualHost.getTotalMoves());
+        }
+    }
+
+    /**
+     * Verifies that games seeded alike make the same random choices.
+     */
+    @Test
+    void seededGamesAreReproducible() {
+        assertThat(simulateSeeded(42L)).isEqualTo(simulateSeeded(42L));
+    }
+
+    /**
+     * Runs a seeded game for a while on a virtual clock.
+     *
+     * @param seed
+     *            The seed of the game.
+     * @return The number of moves followed by the positions of the ghosts.
+     */
+    private List<Long> simulateSeeded(long seed) {
+        VirtualClock clock = new VirtualClock();
+        try (GameHost virtualHost = new GameHost(clock, new PacManSprites(clock))) {
+            virtualHost.setSeed(seed);
+            Game game = virtualHost.createGame(MAP);
+            virtualHost.start(game);
+            clock.advance(10_000L);
+
+            List<Long> state = new ArrayList<>();
+            state.add(virtualHost.getTotalMoves());
+            Board board = game.getLevel().getBoard();
+            for (Ghost ghost : game.getLevel().getGhosts()) {
+                for (int x = 0; x < board.getWidth(); x++) {
+                    for (int y = 0; y < board.getHeight(); y++) {
+                        if (board.squareAt(x, y) == ghost.getSquare()) {
+                            state.add((long) x * board.getHeight() + y);
+                        }
+                    }
+                }
+            }
+            return state;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package nl.tudelft.jpacman.level;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.sprite.Sprite;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the dispatch of collisions by a {@link CollisionInteractionMap}.
+ */
+class CollisionInteractionMapTest {
+
+    private CollisionInteractionMap map;
+    private List<String> handled;
+
+    private final Unit plain = new TestUnit();
+    private final Unit special = new SpecialTestUnit();
+
+    @BeforeEach
+    void setUp() {
+        map = new CollisionInteractionMap();
+        handled = new ArrayList<>();
+    }
+
+    /**
+     * Verifies that subclasses are handled by the handler of their most
+     * specific listed superclass, in both directions.
+     */
+    @Test
+    void dispatchesOnSuperclass() {
+        map.onCollision(TestUnit.class, TestUnit.class,
+            (collider, collidee) -> handled.add("unit"));
+
+        map.collide(special, plain);
+        map.collide(plain, special);
+        assertThat(handled).containsExactly("unit", "unit");
+    }
+
+    /**
+     * Verifies that registering a more specific handler after collisions
+     * were cached takes effect.
+     */
+    @Test
+    void registeringInvalidatesCache() {
+        map.onCollision(TestUnit.class, TestUnit.class, false,
+            (collider, collidee) -> handled.add("unit"));
+        map.collide(special, plain);
+
+        map.onCollision(SpecialTestUnit.class, TestUnit.class, false,
+            (collider, collidee) -> handled.add("special"));
+        map.collide(special, plain);
+        map.collide(plain, plain);
+        assertThat(handled).containsExactly("unit", "special", "unit");
+    }
+
+    /**
+     * Verifies that pairs without a handler are ignored, also when they
+     * are looked up again.
+     */
+    @Test
+    void ignoresUnknownPairs() {
+        map.onCollision(SpecialTestUnit.class, SpecialTestUnit.class, false,
+            (collider, collidee) -> handled.add("special"));
+
+        map.collide(plain, special);
+        map.collide(plain, special);
+        assertThat(handled).isEmpty();
+    }
+
+    /**
+     * A unit without behaviour.
+     */
+    private static class TestUnit extends Unit {
+        @Override
+        public Sprite getSprite() {
+            return null;
+        }
+    }
+
+    /**
+     * A more specific unit without behaviour.
+     */
+    private static class SpecialTestUnit extends TestUnit {
+    }
+}
@@ -0,0 +1,106 @@
+package nl.tudelft.jpacman.level;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.clock.VirtualClock;
+import nl.tudelft.jpacman.event.EventBus;
+import nl.tudelft.jpacman.npc.Ghost;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifies that moving units around a level does not allocate.
+ */
+@SuppressWarnings("magicnumber")
+class LevelMoveAllocationTest {
+
+    /**
+     * The number of moves measured, and made before to warm up.
+     */
+    private static final int MOVES = 10_000;
+
+    /**
+     * The bytes that may be allocated for {@link #MOVES} moves, leaving room
+     * for the measurement itself.
+     */
+    private static final long BUDGET = 1024L;
+
+    /**
+     * Moves a player back and forth over a pellet, put back every time it is
+     * eaten, and a ghost back and forth over another pellet, and measures
+     * the bytes allocated by the moves, collisions, eating and publishing
+     * the events to a subscribed bus in steady state. The pellets at the
+     * ends are never reached, so the level does not end.
+     *
+     * @throws InterruptedException If the wait for the subscriber is interrupted.
+     */
+    @Test
+    void steadyStateMovesDoNotAllocate() throws InterruptedException {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        PacManSprites sprites = new PacManSprites();
+        VirtualClock clock = new VirtualClock();
+        MapParser parser = new MapParser(
+            new LevelFactory(sprites, new GhostFactory(sprites), clock),
+            new BoardFactory(sprites));
+        Level level = parser.parseMap(Lists.newArrayList("#P. .G..#"));
+        Player player = new PlayerFactory(sprites).createPacMan();
+        level.registerPlayer(player);
+        AtomicLong received = new AtomicLong();
+        EventBus bus = new EventBus();
+        bus.subscribe((event, sequence, end) -> received.incrementAndGet());
+        level.setEventBus(bus);
+        level.start();
+        Square pelletSquare = level.getBoard().squareAt(2, 0);
+        Pellet pellet = (Pellet) pelletSquare.getOccupants().get(0);
+        Ghost ghost = level.getGhosts().get(0);
+
+        moveBackAndForth(level, player, ghost, pellet, pelletSquare);
+        int score = player.getScore();
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        moveBackAndForth(level, player, ghost, pellet, pelletSquare);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertThat(level.getMoveCount()).isEqualTo(4L * MOVES);
+        assertThat(player.getScore() - score).isEqualTo(MOVES / 2 * pellet.getValue());
+        assertThat(player.isAlive()).isTrue();
+        assertThat(level.isInProgress()).isTrue();
+        assertThat(allocated).isLessThan(BUDGET);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5L);
+        while (received.get() <= bus.getLastSequence() && System.nanoTime() < deadline) {
+            Thread.sleep(1L);
+        }
+        bus.close();
+        assertThat(bus.getLastSequence()).isGreaterThanOrEqualTo(4L * MOVES);
+        assertThat(received.get()).isEqualTo(bus.getLastSequence() + 1);
+    }
+
+    private static void moveBackAndForth(Level level, Player player, Ghost ghost,
+                                         Pellet pellet, Square pelletSquare) {
+        for (int i = 0; i < MOVES; i += 2) {
+            pellet.occupy(pelletSquare);
+            level.pelletPlaced();
+            level.move(player, Direction.EAST);
+            level.move(ghost, Direction.EAST);
+            level.move(player, Direction.WEST);
+            level.move(ghost, Direction.WEST);
+        }
+    }
+}
@@ -1,14 +1,31 @@
 package nl.tudelft.jpacman.level;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.clock.VirtualClock;
+import nl.tudelft.jpacman.event.EventBus;
+import nl.tudelft.jpacman.event.GameEvent;
 import nl.tudelft.jpacman.npc.Ghost;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import nl.tudelft.jpacman.sprite.Sprite;
 
 import com.google.common.collect.Lists;
 import org.junit.jupiter.api.BeforeEach;
@@ -154,4 +171,226 @@ class LevelTest {
         level.registerPlayer(p3);
         verify(p3).occupy(square1);
     }
+
+    /**
+     * Verifies that timed effects are frozen while the level is paused and
+     * resume with the delay they had left.
+     */
+    @Test
+    void pauseFreezesEffects() {
+        VirtualClock clock = new VirtualClock();
+        Level timed = new Level(board, Lists.newArrayList(ghost),
+            Lists.newArrayList(square1), collisions, clock);
+        final boolean[] ended = new boolean[1];
+        timed.start();
+        timed.scheduleEffect(() -> ended[0] = true, 1000L);
+
+        clock.advance(600L);
+        timed.stop();
+        clock.advance(5000L);
+        assertThat(ended[0]).isFalse();
+
+        timed.start();
+        clock.advance(399L);
+        assertThat(ended[0]).isFalse();
+        clock.advance(1L);
+        assertThat(ended[0]).isTrue();
+    }
+
+    /**
+     * Verifies that effects deferred by a collision are resolved after the
+     * collisions of the move are done, and then applied.
+     */
+    @Test
+    void deferredEffectsRunAfterCollisions() {
+        BoardFactory factory = new BoardFactory(mock(PacManSprites.class));
+        Square from = factory.createGround();
+        Square to = factory.createGround();
+        from.link(to, Direction.EAST);
+        List<String> steps = new ArrayList<>();
+        Level[] moving = new Level[1];
+        CollisionMap deferring = new CollisionMap() {
+            @Override
+            public <C1 extends Unit, C2 extends Unit> void collide(C1 collider, C2 collidee) {
+                moving[0].defer(new Level.DeferredEffect() {
+                    @Override
+                    public void resolve() {
+                        steps.add("resolve");
+                    }
+
+                    @Override
+                    public void apply() {
+                        steps.add("apply");
+                    }
+                });
+                steps.add("collide");
+            }
+        };
+        moving[0] = new Level(board, Lists.newArrayList(), Lists.newArrayList(from), deferring);
+        Unit mover = new TestUnit();
+        new TestUnit().occupy(to);
+        mover.occupy(from);
+
+        moving[0].start();
+        moving[0].move(mover, Direction.EAST);
+
+        assertThat(steps).containsExactly("collide", "resolve", "apply");
+    }
+
+    /**
+     * Verifies that a move records where it came from and when it started,
+     * so it can be drawn in between, and that placing a unit forgets it.
+     */
+    @Test
+    void moveRecordsMotion() {
+        BoardFactory factory = new BoardFactory(mock(PacManSprites.class));
+        Square from = factory.createGround();
+        Square to = factory.createGround();
+        from.link(to, Direction.EAST);
+        VirtualClock clock = new VirtualClock();
+        Level timed = new Level(board, Lists.newArrayList(), Lists.newArrayList(from),
+            collisions, clock);
+        Unit mover = new TestUnit();
+        mover.occupy(from);
+
+        timed.start();
+        clock.advance(250L);
+        timed.move(mover, Direction.EAST);
+
+        assertThat(mover.getPreviousSquare()).isSameAs(from);
+        assertThat(mover.getMoveStart()).isEqualTo(250L);
+
+        mover.occupy(from);
+        assertThat(mover.getPreviousSquare()).isNull();
+    }
+
+    /**
+     * Verifies that a power pellet scares a ghost on its square before the
+     * player collides with that ghost, so the player eats the ghost instead
+     * of dying.
+     */
+    @Test
+    void powerPelletScaresGhostOnItsSquare() {
+        assertGhostOnPelletSquareIsKilled(LevelFactory::createPowerPellet);
+    }
+
+    /**
+     * Verifies that a grenade kills a ghost on its square before the player
+     * collides with that ghost.
+     */
+    @Test
+    void grenadeKillsGhostOnItsSquare() {
+        assertGhostOnPelletSquareIsKilled(LevelFactory::createGrenadePellet);
+    }
+
+    /**
+     * Lets a player eat a pellet that shares its square with a ghost, the
+     * pellet coming first, and checks that the player survives and the
+     * ghost is sent back to where it spawned.
+     */
+    private static void assertGhostOnPelletSquareIsKilled(
+        java.util.function.Function<LevelFactory, Pellet> pelletOf) {
+        PacManSprites sprites = new PacManSprites();
+        LevelFactory levelFactory = new LevelFactory(sprites, new GhostFactory(sprites),
+            new VirtualClock());
+        Level real = new MapParser(levelFactory, new BoardFactory(sprites))
+            .parseMap(Lists.newArrayList("#P G#"));
+        Square pelletSquare = real.getBoard().squareAt(2, 0);
+        Ghost realGhost = real.getGhosts().get(0);
+        Square spawn = realGhost.getSquare();
+        pelletOf.apply(levelFactory).occupy(pelletSquare);
+        realGhost.occupy(pelletSquare);
+        Player player = new PlayerFactory(sprites).createPacMan();
+        real.registerPlayer(player);
+
+        real.start();
+        real.move(player, Direction.EAST);
+
+        assertThat(player.isAlive()).isTrue();
+        assertThat(player.getSquare()).isSameAs(pelletSquare);
+        assertThat(realGhost.getSquare()).isSameAs(spawn);
+        real.dispose();
+    }
+
+    /**
+     * Verifies that a move publishes the move, the pellet eaten and the new
+     * score of the player, in that order, to the bus of the level.
+     *
+     * @throws InterruptedException If the wait for the events is interrupted.
+     */
+    @Test
+    void movePublishesEvents() throws InterruptedException {
+        PacManSprites sprites = new PacManSprites();
+        Level real = new MapParser(
+            new LevelFactory(sprites, new GhostFactory(sprites), new VirtualClock()),
+            new BoardFactory(sprites)).parseMap(Lists.newArrayList("#P..#"));
+        Player player = new PlayerFactory(sprites).createPacMan();
+        real.registerPlayer(player);
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch scored = new CountDownLatch(1);
+        try (EventBus bus = new EventBus()) {
+            bus.subscribe((event, sequence, end) -> {
+                events.add(event.getType() + "=" + event.getValue());
+                if (event.getType() == GameEvent.Type.SCORE_CHANGED) {
+                    scored.countDown();
+                }
+            });
+            real.setEventBus(bus);
+
+            real.start();
+            real.move(player, Direction.EAST);
+
+            assertThat(scored.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+        assertThat(events).containsExactly("UNIT_MOVED=0", "PELLET_EATEN=10",
+            "SCORE_CHANGED=" + player.getScore());
+        real.dispose();
+    }
+
+    /**
+     * Verifies that a move does not wait for a subscriber that lags a full
+     * buffer behind: the events it publishes under the move lock are
+     * dropped and counted instead.
+     *
+     * @throws InterruptedException If the wait for the subscriber is interrupted.
+     */
+    @Test
+    void moveDoesNotWaitForFullBus() throws InterruptedException {
+        PacManSprites sprites = new PacManSprites();
+        Level real = new MapParser(
+            new LevelFactory(sprites, new GhostFactory(sprites), new VirtualClock()),
+            new BoardFactory(sprites)).parseMap(Lists.newArrayList("#P..#"));
+        Player player = new PlayerFactory(sprites).createPacMan();
+        real.registerPlayer(player);
+        CountDownLatch release = new CountDownLatch(1);
+        try (EventBus bus = new EventBus(1)) {
+            bus.subscribe((event, sequence, end) -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            real.setEventBus(bus);
+
+            real.start();
+            assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> real.move(player, Direction.EAST));
+
+            assertThat(player.getScore()).isEqualTo(10);
+            assertThat(bus.getDroppedEvents()).isEqualTo(2L);
+            release.countDown();
+        }
+        real.dispose();
+    }
+
+    /**
+     * A unit without behaviour.
+     */
+    private static final class TestUnit extends Unit {
+        @Override
+        public Sprite getSprite() {
+            return null;
+        }
+    }
 }
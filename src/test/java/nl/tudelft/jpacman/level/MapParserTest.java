@@ -0,0 +1,317 @@
+package nl.tudelft.jpacman.level;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+import nl.tudelft.jpacman.PacmanConfigurationException;
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.specialbox.BridgeBox;
+import nl.tudelft.jpacman.level.specialbox.TeleporterBox;
+import nl.tudelft.jpacman.npc.Ghost;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the parsing of maps into levels.
+ */
+@SuppressWarnings("magicnumber")
+class MapParserTest {
+
+    private static final List<String> MAP = Lists.newArrayList(
+        "########",
+        "#G.P0 G#",
+        "#o ## o#",
+        "#G.  .G#",
+        "########");
+
+    private PacManSprites sprites;
+
+    @BeforeEach
+    void setUp() {
+        sprites = new PacManSprites();
+    }
+
+    private MapParser parser() {
+        return new MapParser(new LevelFactory(sprites, new GhostFactory(sprites)),
+            new BoardFactory(sprites));
+    }
+
+    /**
+     * Verifies that streaming the rows gives the same level as parsing the
+     * transposed characters, ghosts included.
+     *
+     * @throws IOException
+     *             when the map could not be read.
+     */
+    @Test
+    void streamMatchesCharacterGrid() throws IOException {
+        char[][] grid = new char[MAP.get(0).length()][MAP.size()];
+        for (int y = 0; y < MAP.size(); y++) {
+            for (int x = 0; x < grid.length; x++) {
+                grid[x][y] = MAP.get(y).charAt(x);
+            }
+        }
+        Level expected = parser().parseMap(grid);
+        Level actual = parser().parseMap(stream(String.join("\n", MAP)));
+
+        assertThat(describe(actual)).isEqualTo(describe(expected));
+        assertThat(actual.remainingPellets()).isEqualTo(expected.remainingPellets());
+    }
+
+    /**
+     * Verifies that a stream delivering its bytes slowly is read to the end.
+     *
+     * @throws IOException
+     *             when the map could not be read.
+     */
+    @Test
+    void readsSlowStreamsCompletely() throws IOException {
+        InputStream slow = new FilterInputStream(stream(String.join("\n", MAP) + "\n")) {
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                return super.read(buffer, offset, Math.min(length, 1));
+            }
+
+            @Override
+            public int available() {
+                return 0;
+            }
+        };
+        Board board = parser().parseMap(slow).getBoard();
+
+        assertThat(board.getWidth()).isEqualTo(8);
+        assertThat(board.getHeight()).isEqualTo(5);
+    }
+
+    /**
+     * Verifies that a mapped file with carriage returns gives the same level
+     * as the lines it holds.
+     *
+     * @throws IOException
+     *             when the map could not be written or read.
+     */
+    @Test
+    void mappedFileMatchesLines() throws IOException {
+        Path file = Files.createTempFile("map", ".txt");
+        try {
+            Files.write(file, (String.join("\r\n", MAP) + "\r\n")
+                .getBytes(StandardCharsets.US_ASCII));
+            Level expected = parser().parseMap(MAP);
+            Level actual = parser().parseMap(file);
+
+            assertThat(describe(actual)).isEqualTo(describe(expected));
+            assertThat(actual.remainingPellets()).isEqualTo(expected.remainingPellets());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Verifies that a mapped file built in several bands of rows numbers its
+     * ghosts, start positions and teleporters as the character grid does.
+     *
+     * @throws IOException
+     *             when the map could not be written or read.
+     */
+    @Test
+    void tallMappedFileMatchesCharacterGrid() throws IOException {
+        List<String> lines = Lists.newArrayList(MAP.get(0));
+        for (int y = 1; y < 199; y++) {
+            lines.add(MAP.get(1 + y % 3));
+        }
+        lines.add(MAP.get(0));
+        char[][] grid = new char[lines.get(0).length()][lines.size()];
+        for (int y = 0; y < lines.size(); y++) {
+            for (int x = 0; x < grid.length; x++) {
+                grid[x][y] = lines.get(y).charAt(x);
+            }
+        }
+        Path file = Files.createTempFile("map", ".txt");
+        try {
+            Files.write(file, String.join("\n", lines).getBytes(StandardCharsets.US_ASCII));
+            Level expected = parser().parseMap(grid);
+            Level actual = parser().parseMap(file);
+
+            assertThat(describe(actual)).isEqualTo(describe(expected));
+            assertThat(actual.remainingPellets()).isEqualTo(expected.remainingPellets());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Verifies that a mapped file with a row of another width is reported.
+     *
+     * @throws IOException
+     *             when the map could not be written.
+     */
+    @Test
+    void mappedFileRejectsUnequalRows() throws IOException {
+        Path file = Files.createTempFile("map", ".txt");
+        try {
+            Files.write(file, "###\n#.\n###".getBytes(StandardCharsets.US_ASCII));
+            assertThatThrownBy(() -> parser().parseMap(file))
+                .isInstanceOf(PacmanConfigurationException.class)
+                .hasMessageContaining("row 1");
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Verifies that a compiled map gives the same level as its text,
+     * special boxes included: teleporters linked in the same pairs and
+     * bridges facing the same way.
+     *
+     * @throws IOException
+     *             when the map could not be compiled or read.
+     */
+    @Test
+    void compiledMapMatchesText() throws IOException {
+        List<String> map = Lists.newArrayList(MAP);
+        map.set(3, "#Go|-xG#");
+        ByteArrayOutputStream compiled = new ByteArrayOutputStream();
+        MapCompiler.compile(map, compiled);
+
+        Level expected = parser().parseMap(map);
+        Level actual = parser().parseCompiledMap(
+            new ByteArrayInputStream(compiled.toByteArray()));
+
+        assertThat(describe(actual)).isEqualTo(describe(expected))
+            .contains("o->2,3", "o->1,2", "o->none", "bridge:NORTH", "bridge:WEST");
+        assertThat(actual.remainingPellets()).isEqualTo(expected.remainingPellets());
+    }
+
+    /**
+     * Verifies that the maps shipped compile to fewer bytes than their text,
+     * and read back as the same levels.
+     *
+     * @throws IOException
+     *             when a map could not be compiled or read.
+     * @throws URISyntaxException
+     *             when a map resource has no valid location.
+     */
+    @Test
+    void compiledResourcesAreSmallerThanText() throws IOException, URISyntaxException {
+        for (String name : new String[] {"/board.txt", "/board2.txt"}) {
+            Path source = Paths.get(MapParser.class.getResource(name).toURI());
+            ByteArrayOutputStream compiled = new ByteArrayOutputStream();
+            MapCompiler.compile(Files.readAllLines(source, StandardCharsets.UTF_8), compiled);
+
+            assertThat((long) compiled.size()).as(name).isLessThan(Files.size(source));
+            Level actual = parser().parseCompiledMap(
+                new ByteArrayInputStream(compiled.toByteArray()));
+            assertThat(describe(actual)).isEqualTo(describe(parser().parseMap(name)));
+        }
+    }
+
+    /**
+     * Verifies that a resource is read once, and every level built from it
+     * gets squares and units of its own.
+     *
+     * @throws IOException
+     *             when the map could not be read.
+     */
+    @Test
+    void resourceLevelsShareTemplate() throws IOException {
+        LevelTemplate template = MapParser.getTemplate("/board.txt");
+        assertThat(MapParser.getTemplate("/board.txt")).isSameAs(template);
+
+        Level first = parser().parseMap("/board.txt");
+        Level second = parser().parseMap("/board.txt");
+
+        assertThat(describe(second)).isEqualTo(describe(first));
+        assertThat(second.getBoard().squareAt(0, 0)).isNotSameAs(first.getBoard().squareAt(0, 0));
+        assertThat(second.getGhosts().get(0)).isNotSameAs(first.getGhosts().get(0));
+    }
+
+    /**
+     * Verifies that maps with squares that cannot be reached are not
+     * compiled, and that other input is not loaded as a compiled map.
+     */
+    @Test
+    void compilerRejectsInvalidMaps() {
+        assertThatThrownBy(() -> MapCompiler.compile(
+            Lists.newArrayList("#####", "#.#.#", "#####"), new ByteArrayOutputStream()))
+            .isInstanceOf(PacmanConfigurationException.class)
+            .hasMessageContaining("not accessible");
+        assertThatThrownBy(() -> parser().parseCompiledMap(stream(String.join("\n", MAP))))
+            .isInstanceOf(PacmanConfigurationException.class);
+    }
+
+    /**
+     * Verifies that a row of another width is reported.
+     */
+    @Test
+    void rejectsUnequalRows() {
+        assertThatThrownBy(() -> parser().parseMap(Lists.newArrayList("###", "#.", "###")))
+            .isInstanceOf(PacmanConfigurationException.class)
+            .hasMessageContaining("row 1");
+        assertThatThrownBy(() -> parser().parseMap(stream("")))
+            .isInstanceOf(PacmanConfigurationException.class);
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return The ghosts of a level by kind and position, the position of
+     *         every wall, the square every teleporter takes a player to and
+     *         the direction of every bridge.
+     */
+    private String describe(Level level) {
+        Board board = level.getBoard();
+        StringBuilder text = new StringBuilder();
+        for (Ghost ghost : level.getGhosts()) {
+            text.append(ghost.getClass().getSimpleName()).append('@')
+                .append(ghost.getSquare().getX()).append(',')
+                .append(ghost.getSquare().getY()).append(' ');
+        }
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++) {
+                Square square = board.squareAt(x, y);
+                text.append(square.getSprite() == sprites.getWallSprite() ? '#' : ' ');
+                text.append(square.getOccupants().size());
+                for (Unit occupant : square.getOccupants()) {
+                    describeBox(level, occupant, text);
+                }
+            }
+        }
+        return text.toString();
+    }
+
+    private void describeBox(Level level, Unit box, StringBuilder text) {
+        if (box instanceof TeleporterBox) {
+            Player player = new PlayerFactory(sprites).createPacMan();
+            text.append("o->");
+            if (((TeleporterBox) box).onTake(level, player)) {
+                text.append(player.getSquare().getX()).append(',')
+                    .append(player.getSquare().getY());
+                player.leaveSquare();
+            } else {
+                text.append("none");
+            }
+        } else if (box instanceof BridgeBox) {
+            text.append("bridge:").append(box.getDirection());
+        }
+    }
+}
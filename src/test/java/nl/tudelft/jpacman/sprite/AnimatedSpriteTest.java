@@ -0,0 +1,98 @@
+package nl.tudelft.jpacman.sprite;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import nl.tudelft.jpacman.clock.FrameClock;
+import nl.tudelft.jpacman.clock.VirtualClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests which frame an {@link AnimatedSprite} shows over time.
+ */
+@SuppressWarnings("magicnumber")
+class AnimatedSpriteTest {
+
+    private static final int DELAY = 200;
+
+    private final Sprite[] frames = {mock(Sprite.class), mock(Sprite.class), mock(Sprite.class)};
+    private VirtualClock clock;
+
+    @BeforeEach
+    void setUp() {
+        clock = new VirtualClock();
+    }
+
+    /**
+     * Verifies that a looping animation advances a frame per delay, also
+     * after a very long time.
+     */
+    @Test
+    void loopsOverFrames() {
+        AnimatedSprite animation = new AnimatedSprite(frames, DELAY, true, true, clock);
+        assertThat(animation.getCurrentFrame()).isSameAs(frames[0]);
+
+        clock.advance(1L);
+        assertThat(animation.getCurrentFrame()).isSameAs(frames[1]);
+        clock.advance(DELAY);
+        assertThat(animation.getCurrentFrame()).isSameAs(frames[2]);
+
+        clock.advance(3L * DELAY * 1_000_000_000L);
+        assertThat(animation.getCurrentFrame()).isSameAs(frames[2]);
+        assertThat(animation.isAnimating()).isTrue();
+    }
+
+    /**
+     * Verifies that a non-looping animation ends with an empty sprite.
+     */
+    @Test
+    void endsAfterLastFrame() {
+        AnimatedSprite animation = new AnimatedSprite(frames, DELAY, false, false, clock);
+        clock.advance(10L * DELAY);
+        animation.restart();
+
+        clock.advance(2L * DELAY);
+        assertThat(animation.getCurrentFrame()).isSameAs(frames[2]);
+        assertThat(animation.isAnimating()).isTrue();
+
+        clock.advance(1L);
+        assertThat(animation.getCurrentFrame()).isInstanceOf(EmptySprite.class);
+        assertThat(animation.isAnimating()).isFalse();
+    }
+
+    /**
+     * Verifies that a stopped animation keeps its frame and continues from
+     * it when started again.
+     */
+    @Test
+    void stopsAndContinues() {
+        AnimatedSprite animation = new AnimatedSprite(frames, DELAY, true, true, clock);
+        clock.advance(1L);
+        animation.setAnimating(false);
+
+        clock.advance(10L * DELAY);
+        assertThat(animation.getCurrentFrame()).isSameAs(frames[1]);
+
+        animation.setAnimating(true);
+        clock.advance(1L);
+        assertThat(animation.getCurrentFrame()).isSameAs(frames[2]);
+    }
+
+    /**
+     * Verifies that animations on a frame clock only change when a frame
+     * is started.
+     */
+    @Test
+    void followsFrameClock() {
+        FrameClock frameClock = new FrameClock(clock);
+        AnimatedSprite animation = new AnimatedSprite(frames, DELAY, true, true, frameClock);
+        frameClock.startFrame();
+
+        clock.advance(1L);
+        assertThat(animation.getCurrentFrame()).isSameAs(frames[0]);
+
+        frameClock.startFrame();
+        assertThat(animation.getCurrentFrame()).isSameAs(frames[1]);
+    }
+}
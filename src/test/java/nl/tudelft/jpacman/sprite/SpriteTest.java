@@ -3,7 +3,12 @@ package nl.tudelft.jpacman.sprite;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.io.InputStream;
+
+import javax.imageio.ImageIO;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -109,4 +114,114 @@ public class SpriteTest {
         Sprite split = sprite.split(10, 10, 64, 10);
         assertThat(split).isInstanceOf(EmptySprite.class);
     }
+
+    /**
+     * Verifies that drawing a sprite scaled gives the same pixels as scaling
+     * it while drawing, also when the scaled copy is reused.
+     */
+    @Test
+    public void scaledDrawMatchesDirectScaling() {
+        Sprite animation = store.createAnimatedSprite(sprite, 4, 0, false);
+        BufferedImage source = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
+        animation.draw(source.getGraphics(), 0, 0, 16, 16);
+
+        BufferedImage expected = new BufferedImage(40, 40, BufferedImage.TYPE_INT_ARGB);
+        expected.getGraphics().drawImage(source, 0, 0, 40, 40, 0, 0, 16, 16, null);
+
+        for (int i = 0; i < 2; i++) {
+            BufferedImage actual = new BufferedImage(40, 40, BufferedImage.TYPE_INT_ARGB);
+            Graphics graphics = actual.getGraphics();
+            animation.draw(graphics, 0, 0, 40, 40);
+            for (int x = 0; x < 40; x++) {
+                for (int y = 0; y < 40; y++) {
+                    assertThat(actual.getRGB(x, y)).isEqualTo(expected.getRGB(x, y));
+                }
+            }
+        }
+    }
+
+    /**
+     * Verifies that the pixels of a sprite are extracted scaled, and only
+     * once per size.
+     */
+    @Test
+    public void pixelsAreScaledAndReused() {
+        ImageSprite image = (ImageSprite) sprite;
+        int[] pixels = image.getPixels(16, 8);
+
+        assertThat(pixels).hasSize(16 * 8).containsOnly(0xFFFFFFFF);
+        assertThat(image.getPixels(16, 8)).isSameAs(pixels);
+        assertThat(image.getPixels(8, 8)).hasSize(8 * 8);
+    }
+
+    /**
+     * Verifies that pixels are kept for several sizes at once, so alternating
+     * between them extracts nothing, and that only a bounded number of
+     * sizes is kept.
+     */
+    @Test
+    public void pixelsAreKeptPerSize() {
+        ImageSprite image = (ImageSprite) sprite;
+        int[] small = image.getPixels(8, 8);
+        int[] large = image.getPixels(32, 32);
+
+        assertThat(image.getPixels(8, 8)).isSameAs(small);
+        assertThat(image.getPixels(32, 32)).isSameAs(large);
+
+        for (int size = 1; size <= ImageSprite.CACHED_SIZES; size++) {
+            image.getPixels(size, size);
+        }
+        assertThat(image.getPixels(8, 8)).isNotSameAs(small).isEqualTo(small);
+    }
+
+    /**
+     * Verifies that the size requested least recently is dropped first, so a
+     * size used every frame is kept however many others are requested.
+     */
+    @Test
+    public void pixelsOfRecentSizesAreKept() {
+        ImageSprite image = (ImageSprite) sprite;
+        int[] frequent = image.getPixels(8, 8);
+
+        for (int size = 1; size <= 2 * ImageSprite.CACHED_SIZES; size++) {
+            image.getPixels(16 + size, 16 + size);
+            assertThat(image.getPixels(8, 8)).isSameAs(frequent);
+        }
+    }
+
+    /**
+     * Verifies that stores share the sprite of a resource instead of
+     * decoding it again.
+     *
+     * @throws IOException
+     *             when the sprite could not be loaded.
+     */
+    @Test
+    public void storesShareDecodedSprites() throws IOException {
+        assertThat(new SpriteStore().loadSprite("/sprite/64x64white.png")).isSameAs(sprite);
+    }
+
+    /**
+     * Verifies that images packed into an atlas keep their pixels, also
+     * when split into frames.
+     *
+     * @throws IOException
+     *             when the sprites could not be loaded.
+     */
+    @Test
+    public void atlasKeepsPixels() throws IOException {
+        SpriteAtlas atlas = new SpriteAtlas();
+        atlas.loadSprite("/sprite/64x64white.png");
+        ImageSprite pacman = (ImageSprite) atlas.loadSprite("/sprite/pacman.png");
+        ImageSprite expected;
+        try (InputStream input = SpriteTest.class.getResourceAsStream("/sprite/pacman.png")) {
+            expected = new ImageSprite(ImageIO.read(input));
+        }
+
+        assertThat(atlas.size()).isEqualTo(2);
+        assertThat(pacman.getPixels(64, 64)).containsExactly(expected.getPixels(64, 64));
+        ImageSprite frame = (ImageSprite) pacman.split(16, 32, 16, 16);
+        ImageSprite expectedFrame = (ImageSprite) expected.split(16, 32, 16, 16);
+        assertThat(frame.getPixels(16, 16)).containsExactly(expectedFrame.getPixels(16, 16));
+    }
 }
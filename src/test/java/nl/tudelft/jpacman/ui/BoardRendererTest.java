@@ -0,0 +1,107 @@
+package nl.tudelft.jpacman.ui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.sprite.EmptySprite;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import nl.tudelft.jpacman.sprite.Sprite;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifies that the walls and floor a {@link BoardRenderer} pre-renders are
+ * reused between frames, and rendered again only when they no longer fit.
+ */
+@SuppressWarnings("magicnumber")
+class BoardRendererTest {
+
+    private static final int WIDTH = 3;
+    private static final int HEIGHT = 2;
+
+    /**
+     * The number of squares drawn, which only happens while rendering the
+     * walls and floor.
+     */
+    private int squaresDrawn;
+
+    private BoardFactory factory;
+    private BoardRenderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        Sprite counting = new EmptySprite() {
+            @Override
+            public void draw(Graphics graphics, int x, int y, int width, int height) {
+                squaresDrawn++;
+            }
+        };
+        PacManSprites sprites = mock(PacManSprites.class);
+        when(sprites.getWallSprite()).thenReturn(counting);
+        when(sprites.getGroundSprite()).thenReturn(counting);
+        factory = new BoardFactory(sprites);
+        renderer = new BoardRenderer(null);
+    }
+
+    /**
+     * Verifies that frames of the same board at the same size draw the
+     * squares once.
+     */
+    @Test
+    void reusesBackgroundAcrossFrames() {
+        Board board = createBoard();
+        render(board, 30, 20);
+        render(board, 30, 20);
+        render(board, 30, 20);
+
+        assertThat(squaresDrawn).isEqualTo(WIDTH * HEIGHT);
+    }
+
+    /**
+     * Verifies that the squares are drawn again when the window is resized,
+     * another board is shown, or the background is invalidated.
+     */
+    @Test
+    void rebuildsBackgroundWhenItNoLongerFits() {
+        Board board = createBoard();
+        render(board, 30, 20);
+
+        render(board, 60, 40);
+        assertThat(squaresDrawn).isEqualTo(2 * WIDTH * HEIGHT);
+
+        render(createBoard(), 60, 40);
+        assertThat(squaresDrawn).isEqualTo(3 * WIDTH * HEIGHT);
+
+        renderer.invalidateBackground();
+        render(board, 60, 40);
+        assertThat(squaresDrawn).isEqualTo(4 * WIDTH * HEIGHT);
+
+        render(board, 60, 40);
+        assertThat(squaresDrawn).isEqualTo(4 * WIDTH * HEIGHT);
+    }
+
+    private Board createBoard() {
+        Square[][] grid = new Square[WIDTH][HEIGHT];
+        for (int x = 0; x < WIDTH; x++) {
+            for (int y = 0; y < HEIGHT; y++) {
+                grid[x][y] = y == 0 ? factory.createWall() : factory.createGround();
+            }
+        }
+        return factory.createBoard(grid);
+    }
+
+    private void render(Board board, int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics graphics = image.getGraphics();
+        renderer.render(board, graphics, new Dimension(width, height));
+        graphics.dispose();
+    }
+}
@@ -0,0 +1,144 @@
+package nl.tudelft.jpacman.ui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Dimension;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.level.PlayerFactory;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifies the squares a {@link Camera} shows and where it draws them.
+ */
+@SuppressWarnings("magicnumber")
+class CameraTest {
+
+    private static final int CELL = 10;
+
+    private BoardFactory factory;
+    private Player player;
+    private Camera camera;
+    private Camera.View view;
+
+    @BeforeEach
+    void setUp() {
+        PacManSprites sprites = new PacManSprites();
+        factory = new BoardFactory(sprites);
+        player = new PlayerFactory(sprites).createPacMan();
+        camera = new Camera(player, CELL);
+        view = new Camera.View();
+    }
+
+    /**
+     * Verifies that a board smaller than the window is shown whole and
+     * centred in it.
+     */
+    @Test
+    void centresSmallBoard() {
+        Board board = createBoard(3, 2);
+        player.occupy(board.squareAt(2, 1));
+
+        camera.look(board, new Dimension(100, 50), view, 0, 0);
+
+        assertThat(squares(view.columns)).containsExactly(0, 1, 2);
+        assertThat(pixels(view.columns)).containsExactly(35, 45, 55);
+        assertThat(squares(view.rows)).containsExactly(0, 1);
+        assertThat(pixels(view.rows)).containsExactly(15, 25);
+    }
+
+    /**
+     * Verifies that the view on a larger board holds the squares around the
+     * player, with the partly visible ones at the edges while it moves.
+     */
+    @Test
+    void showsSquaresAroundPlayer() {
+        Board board = createBoard(20, 20);
+        player.occupy(board.squareAt(10, 10));
+
+        camera.look(board, new Dimension(50, 30), view, 0, 0);
+        assertThat(squares(view.columns)).containsExactly(8, 9, 10, 11, 12);
+        assertThat(pixels(view.columns)).containsExactly(0, 10, 20, 30, 40);
+        assertThat(squares(view.rows)).containsExactly(9, 10, 11);
+
+        camera.look(board, new Dimension(50, 30), view, 3, 0);
+        assertThat(squares(view.columns)).containsExactly(8, 9, 10, 11, 12, 13);
+        assertThat(pixels(view.columns)).containsExactly(-3, 7, 17, 27, 37, 47);
+    }
+
+    /**
+     * Verifies that a view crossing the edge of the board shows the squares
+     * on the other side, as the board wraps around.
+     */
+    @Test
+    void wrapsAroundBoardEdge() {
+        Board board = createBoard(20, 20);
+        player.occupy(board.squareAt(0, 19));
+
+        camera.look(board, new Dimension(50, 30), view, 0, 0);
+
+        assertThat(squares(view.columns)).containsExactly(18, 19, 0, 1, 2);
+        assertThat(pixels(view.columns)).containsExactly(0, 10, 20, 30, 40);
+        assertThat(squares(view.rows)).containsExactly(18, 19, 0);
+    }
+
+    /**
+     * Verifies that the view stays where it was while the player is off the
+     * board.
+     */
+    @Test
+    void keepsViewWithoutPlayer() {
+        Board board = createBoard(20, 20);
+        player.occupy(board.squareAt(10, 10));
+        camera.look(board, new Dimension(50, 30), view, 0, 0);
+
+        player.leaveSquare();
+        camera.look(board, new Dimension(50, 30), view, 0, 0);
+
+        assertThat(squares(view.columns)).containsExactly(8, 9, 10, 11, 12);
+        assertThat(squares(view.rows)).containsExactly(9, 10, 11);
+    }
+
+    /**
+     * Verifies that a view is as large as the board, up to its default
+     * number of squares.
+     */
+    @Test
+    void preferredSizeFitsSmallBoards() {
+        assertThat(camera.getPreferredSize(createBoard(3, 2)))
+            .isEqualTo(new Dimension(30, 20));
+        assertThat(camera.getPreferredSize(createBoard(40, 30)))
+            .isEqualTo(new Dimension(320, 240));
+    }
+
+    private Board createBoard(int width, int height) {
+        Square[][] grid = new Square[width][height];
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                grid[x][y] = factory.createGround();
+            }
+        }
+        return factory.createBoard(grid);
+    }
+
+    private static Integer[] squares(Camera.Axis axis) {
+        Integer[] squares = new Integer[axis.getCount()];
+        for (int i = 0; i < squares.length; i++) {
+            squares[i] = axis.squareAt(i);
+        }
+        return squares;
+    }
+
+    private static Integer[] pixels(Camera.Axis axis) {
+        Integer[] pixels = new Integer[axis.getCount()];
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = axis.pixelAt(i);
+        }
+        return pixels;
+    }
+}
@@ -0,0 +1,174 @@
+package nl.tudelft.jpacman.ui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.level.Pellet;
+import nl.tudelft.jpacman.sprite.ImageSprite;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import nl.tudelft.jpacman.sprite.Sprite;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifies that recorded frames are written as they are composed.
+ */
+@SuppressWarnings("magicnumber")
+class FrameRecorderTest {
+
+    private static final int CELL = 4;
+
+    private Path directory;
+    private Board board;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("frames");
+        PacManSprites sprites = mock(PacManSprites.class);
+        when(sprites.getWallSprite()).thenReturn(sprite(Color.BLUE));
+        when(sprites.getGroundSprite()).thenReturn(sprite(Color.DARK_GRAY));
+        BoardFactory factory = new BoardFactory(sprites);
+        Square[][] grid = new Square[5][3];
+        for (int x = 0; x < 5; x++) {
+            for (int y = 0; y < 3; y++) {
+                grid[x][y] = (x + y) % 3 == 0 ? factory.createWall() : factory.createGround();
+            }
+        }
+        new Pellet(10, sprite(Color.WHITE)).occupy(grid[1][1]);
+        board = factory.createBoard(grid);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    /**
+     * Verifies that PNG frames hold the composed board.
+     *
+     * @throws IOException
+     *             when the frames could not be written.
+     */
+    @Test
+    void writesPngFrames() throws IOException {
+        try (FrameRecorder recorder = new FrameRecorder(directory, FrameRecorder.Format.PNG,
+            CELL)) {
+            recorder.record(board);
+            recorder.record(board);
+        }
+        BufferedImage expected = compose();
+
+        BufferedImage frame = ImageIO.read(directory.resolve("frame-000001.png").toFile());
+        assertThat(directory.resolve("frame-000000.png")).exists();
+        for (int x = 0; x < expected.getWidth(); x++) {
+            for (int y = 0; y < expected.getHeight(); y++) {
+                assertThat(frame.getRGB(x, y)).isEqualTo(expected.getRGB(x, y));
+            }
+        }
+    }
+
+    /**
+     * Verifies that raw frames hold three bytes per pixel of the composed
+     * board.
+     *
+     * @throws IOException
+     *             when the frames could not be written.
+     */
+    @Test
+    void writesRawFrames() throws IOException {
+        FrameRecorder recorder = new FrameRecorder(directory, FrameRecorder.Format.RGB, CELL);
+        for (int i = 0; i < 10; i++) {
+            recorder.record(board);
+        }
+        recorder.close();
+        BufferedImage expected = compose();
+
+        assertThat(recorder.getFramesWritten()).isEqualTo(10);
+        byte[] bytes = Files.readAllBytes(directory.resolve("frame-000009.rgb"));
+        assertThat(bytes).hasSize(expected.getWidth() * expected.getHeight() * 3);
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                int i = (y * expected.getWidth() + x) * 3;
+                int rgb = (bytes[i] & 0xFF) << 16 | (bytes[i + 1] & 0xFF) << 8
+                    | bytes[i + 2] & 0xFF;
+                assertThat(rgb).isEqualTo(expected.getRGB(x, y) & 0xFFFFFF);
+            }
+        }
+    }
+
+    /**
+     * Verifies that a frame the encoder fails on with a runtime exception is
+     * reported, instead of its buffer being lost and recording hanging once
+     * the other buffers are taken.
+     *
+     * @throws IOException
+     *             when the recorder could not be created.
+     */
+    @Test
+    void reportsEncoderCrash() throws IOException {
+        FrameRecorder recorder = new FrameRecorder(directory, FrameRecorder.Format.RGB, CELL) {
+            private int calls;
+
+            @Override
+            byte[] write(Frame frame, byte[] row) throws IOException {
+                if (++calls == 2) {
+                    throw new IllegalStateException("Encoder crashed.");
+                }
+                return super.write(frame, row);
+            }
+        };
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5L), () ->
+            assertThatThrownBy(() -> {
+                for (int i = 0; i < 100; i++) {
+                    recorder.record(board);
+                }
+            }).isInstanceOf(IOException.class).hasRootCauseInstanceOf(IllegalStateException.class));
+        assertThatThrownBy(recorder::close).isInstanceOf(IOException.class);
+        assertThat(recorder.getFramesWritten()).isEqualTo(1);
+    }
+
+    private BufferedImage compose() {
+        Dimension size = new Dimension(5 * CELL, 3 * CELL);
+        BufferedImage image = new BufferedImage(size.width, size.height,
+            BufferedImage.TYPE_INT_RGB);
+        Graphics graphics = image.getGraphics();
+        new RasterRenderer(null).render(board, graphics, size);
+        graphics.dispose();
+        return image;
+    }
+
+    /**
+     * @return A sprite with a filled circle of the given colour.
+     */
+    private static Sprite sprite(Color color) {
+        BufferedImage image = new BufferedImage(8, 8, BufferedImage.TYPE_INT_ARGB);
+        Graphics graphics = image.getGraphics();
+        graphics.setColor(color);
+        graphics.fillOval(1, 1, 6, 6);
+        graphics.dispose();
+        return new ImageSprite(image);
+    }
+}
@@ -0,0 +1,139 @@
+package nl.tudelft.jpacman.ui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.clock.VirtualClock;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import nl.tudelft.jpacman.sprite.Sprite;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifies where an {@link Interpolator} draws units while they move, on a
+ * virtual clock.
+ */
+@SuppressWarnings("magicnumber")
+class InterpolatorTest {
+
+    private static final int CELL = 16;
+
+    private static final long MOVE_TIME = 100L;
+
+    private VirtualClock clock;
+    private Interpolator interpolator;
+    private Board board;
+    private Unit unit;
+
+    @BeforeEach
+    void setUp() {
+        clock = new VirtualClock();
+        interpolator = new Interpolator(clock);
+        BoardFactory factory = new BoardFactory(new PacManSprites());
+        Square[][] grid = new Square[5][3];
+        for (int x = 0; x < grid.length; x++) {
+            for (int y = 0; y < grid[x].length; y++) {
+                grid[x][y] = factory.createGround();
+            }
+        }
+        board = factory.createBoard(grid);
+        unit = new MovingUnit();
+    }
+
+    /**
+     * Verifies that a unit glides from the square it left to the square it
+     * occupies while its move lasts, and is drawn on its square after.
+     */
+    @Test
+    void glidesDuringMove() {
+        Square target = move(1, 1, 2, 1);
+
+        assertThat(offsetsAt(target)).containsExactly(-16, 0);
+        clock.advance(25L);
+        assertThat(offsetsAt(target)).containsExactly(-12, 0);
+        clock.advance(25L);
+        assertThat(offsetsAt(target)).containsExactly(-8, 0);
+        clock.advance(49L);
+        assertThat(offsetsAt(target)).containsExactly(0, 0);
+
+        clock.advance(1L);
+        interpolator.startFrame();
+        assertThat(interpolator.isMoving(unit, target, board)).isFalse();
+        assertThat(interpolator.locate(unit, target, board, CELL, CELL)).isFalse();
+    }
+
+    /**
+     * Verifies that a move across the edge of the board glides the short
+     * way, from just beyond the edge, horizontally and vertically.
+     */
+    @Test
+    void glidesAcrossWrappedEdge() {
+        Square east = move(4, 1, 0, 1);
+        clock.advance(50L);
+        assertThat(offsetsAt(east)).containsExactly(-8, 0);
+
+        Square north = move(2, 0, 2, 2);
+        clock.advance(50L);
+        assertThat(offsetsAt(north)).containsExactly(0, 8);
+    }
+
+    /**
+     * Verifies that a unit jumping to a square that is not next to the one
+     * it left, as through a teleporter, or placed on a square is not drawn
+     * between squares.
+     */
+    @Test
+    void doesNotGlideThroughJumps() {
+        Square target = move(0, 0, 3, 2);
+        interpolator.startFrame();
+        assertThat(interpolator.isMoving(unit, target, board)).isFalse();
+        assertThat(interpolator.locate(unit, target, board, CELL, CELL)).isFalse();
+
+        unit.occupy(board.squareAt(1, 1));
+        interpolator.startFrame();
+        assertThat(interpolator.locate(unit, board.squareAt(1, 1), board, CELL, CELL))
+            .isFalse();
+    }
+
+    /**
+     * Moves the unit as a level does, starting now.
+     *
+     * @return The square moved onto.
+     */
+    private Square move(int fromX, int fromY, int toX, int toY) {
+        Square from = board.squareAt(fromX, fromY);
+        Square to = board.squareAt(toX, toY);
+        unit.occupy(from);
+        unit.occupy(to);
+        unit.recordMove(from, clock.currentTimeMillis());
+        return to;
+    }
+
+    /**
+     * @return The offsets of the unit in a frame rendered now.
+     */
+    private Integer[] offsetsAt(Square square) {
+        interpolator.startFrame();
+        assertThat(interpolator.isMoving(unit, square, board)).isTrue();
+        assertThat(interpolator.locate(unit, square, board, CELL, CELL)).isTrue();
+        return new Integer[] {interpolator.getOffsetX(), interpolator.getOffsetY()};
+    }
+
+    /**
+     * A unit taking {@link #MOVE_TIME} per move.
+     */
+    private static final class MovingUnit extends Unit {
+        @Override
+        protected long getMoveTime() {
+            return MOVE_TIME;
+        }
+
+        @Override
+        public Sprite getSprite() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package nl.tudelft.jpacman.ui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+
+import nl.tudelft.jpacman.clock.VirtualClock;
+import nl.tudelft.jpacman.event.EventBus;
+import nl.tudelft.jpacman.event.GameEvent;
+import nl.tudelft.jpacman.level.Level;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the counting and formatting of the time played in
+ * {@link LevelStatsPanel}.
+ */
+@SuppressWarnings("magicnumber")
+class LevelStatsPanelTest {
+
+    /**
+     * Verifies that the time played stops while the bus reports the ghosts
+     * scared, and runs again once they are no longer.
+     *
+     * @throws InterruptedException If the wait for the events is interrupted.
+     */
+    @Test
+    void followsScaringOnBus() throws InterruptedException {
+        VirtualClock clock = new VirtualClock();
+        Level level = mock(Level.class);
+        when(level.getClock()).thenReturn(clock);
+        when(level.isInProgress()).thenReturn(true);
+        LevelStatsPanel panel = new LevelStatsPanel(level);
+        try (EventBus bus = new EventBus()) {
+            panel.subscribeTo(bus);
+
+            clock.advance(1000L);
+            panel.refresh();
+            bus.publish(GameEvent.Type.EFFECT_STARTED, null, null, 5000, 1000L);
+            awaitScared(panel, true);
+            clock.advance(5000L);
+            panel.refresh();
+            assertThat(panel.getTimePlayed()).isEqualTo(1000L);
+
+            bus.publish(GameEvent.Type.EFFECT_ENDED, null, null, 0, 6000L);
+            awaitScared(panel, false);
+            clock.advance(500L);
+            panel.refresh();
+            assertThat(panel.getTimePlayed()).isEqualTo(1500L);
+            panel.unsubscribe();
+        }
+    }
+
+    private static void awaitScared(LevelStatsPanel panel, boolean scared)
+        throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (panel.areGhostsScared() != scared && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1L);
+        }
+        assertThat(panel.areGhostsScared()).isEqualTo(scared);
+    }
+
+    /**
+     * Verifies that the time is shown as by a date format, followed by the
+     * tenths of a second.
+     */
+    @Test
+    void formatsLikeDateFormat() {
+        SimpleDateFormat format = new SimpleDateFormat("mm:ss");
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        long[] times = {0L, 7L, 45L, 999L, 1_000L, 59_999L, 60_000L, 754_321L, 3_600_000L,
+            3_723_004L};
+        for (long time : times) {
+            assertThat(LevelStatsPanel.getLevelTime(time))
+                .isEqualTo("Time : " + format.format(new Date(time)) + "." + time % 1000 / 100);
+        }
+    }
+}
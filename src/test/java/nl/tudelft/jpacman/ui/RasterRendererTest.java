@@ -0,0 +1,128 @@
+package nl.tudelft.jpacman.ui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ForkJoinPool;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.level.Pellet;
+import nl.tudelft.jpacman.sprite.ImageSprite;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import nl.tudelft.jpacman.sprite.Sprite;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifies that composing a board in parallel bands gives the same frame
+ * as composing it sequentially, and as drawing it with Java2D.
+ */
+@SuppressWarnings("magicnumber")
+class RasterRendererTest {
+
+    private static final int SIZE = 120;
+    private static final int CELL = 4;
+    private static final int SPRITE_SIZE = 8;
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Renders a large board with walls, floor and pellets both ways and
+     * compares every pixel.
+     */
+    @Test
+    void parallelMatchesSequential() {
+        Board board = createBoard(128);
+
+        RasterRenderer sequential = new RasterRenderer(new Canvas());
+        RasterRenderer parallel = new RasterRenderer(new Canvas(), pool);
+
+        assertSamePixels(render(parallel, board, CELL), render(sequential, board, CELL));
+    }
+
+    /**
+     * Renders a board with opaque sprites drawn at their own size in
+     * software and with Java2D, and compares every pixel.
+     */
+    @Test
+    void matchesBoardRenderer() {
+        Board board = createBoard(255);
+
+        BufferedImage expected = render(new BoardRenderer(null), board, SPRITE_SIZE);
+        BufferedImage actual = render(new RasterRenderer(null), board, SPRITE_SIZE);
+
+        assertSamePixels(actual, expected);
+    }
+
+    /**
+     * @return A board of {@link #SIZE} squares square, with walls, floor and
+     *         pellets of the given alpha.
+     */
+    private static Board createBoard(int pelletAlpha) {
+        PacManSprites sprites = mock(PacManSprites.class);
+        when(sprites.getWallSprite()).thenReturn(sprite(Color.BLUE, 255));
+        when(sprites.getGroundSprite()).thenReturn(sprite(Color.DARK_GRAY, 255));
+        BoardFactory factory = new BoardFactory(sprites);
+        Sprite pellet = sprite(Color.WHITE, pelletAlpha);
+
+        Square[][] grid = new Square[SIZE][SIZE];
+        for (int x = 0; x < SIZE; x++) {
+            for (int y = 0; y < SIZE; y++) {
+                if ((x * 7 + y * 3) % 5 == 0) {
+                    grid[x][y] = factory.createWall();
+                } else {
+                    grid[x][y] = factory.createGround();
+                    if ((x + y) % 2 == 0) {
+                        new Pellet(10, pellet).occupy(grid[x][y]);
+                    }
+                }
+            }
+        }
+        return factory.createBoard(grid);
+    }
+
+    private static void assertSamePixels(BufferedImage actual, BufferedImage expected) {
+        int width = expected.getWidth();
+        int height = expected.getHeight();
+        assertThat(actual.getWidth()).isEqualTo(width);
+        assertThat(actual.getHeight()).isEqualTo(height);
+        assertThat(actual.getRGB(0, 0, width, height, null, 0, width))
+            .isEqualTo(expected.getRGB(0, 0, width, height, null, 0, width));
+    }
+
+    private static BufferedImage render(BoardRenderer renderer, Board board, int cell) {
+        Dimension size = new Dimension(SIZE * cell, SIZE * cell);
+        BufferedImage image = new BufferedImage(size.width, size.height,
+            BufferedImage.TYPE_INT_RGB);
+        Graphics graphics = image.getGraphics();
+        renderer.render(board, graphics, size);
+        graphics.dispose();
+        return image;
+    }
+
+    /**
+     * @return A sprite with a filled circle of the given colour and alpha.
+     */
+    private static Sprite sprite(Color color, int alpha) {
+        BufferedImage image = new BufferedImage(SPRITE_SIZE, SPRITE_SIZE,
+            BufferedImage.TYPE_INT_ARGB);
+        Graphics graphics = image.getGraphics();
+        graphics.setColor(new Color(color.getRed(), color.getGreen(), color.getBlue(), alpha));
+        graphics.fillOval(1, 1, 6, 6);
+        graphics.dispose();
+        return new ImageSprite(image);
+    }
+}
@@ -0,0 +1,69 @@
+package nl.tudelft.jpacman.ui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifies the pacing of a {@link RenderLoop} on a virtual clock, which
+ * only moves while frames render and while the loop waits.
+ */
+@SuppressWarnings("magicnumber")
+class RenderLoopTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1L);
+
+    /**
+     * The virtual time, in nanoseconds, only used on the loop thread.
+     */
+    private long now;
+
+    /**
+     * Verifies that frames start on a fixed schedule, that a frame
+     * overrunning by less than a period is followed by one at once, and that
+     * the frames missed by a longer overrun are skipped.
+     *
+     * @throws InterruptedException If the wait for the loop is interrupted.
+     */
+    @Test
+    void keepsScheduleAndSkipsMissedFrames() throws InterruptedException {
+        long[] durations = { 2, 2, 35, 2, 15, 2 };
+        List<Long> starts = new ArrayList<>();
+        long[] skipped = new long[1];
+        CountDownLatch done = new CountDownLatch(1);
+        RenderLoop[] loop = new RenderLoop[1];
+        loop[0] = new RenderLoop(() -> {
+            int index = starts.size();
+            starts.add(now / MILLIS);
+            now += durations[index] * MILLIS;
+            if (index == durations.length - 1) {
+                skipped[0] = loop[0].getSkippedFrames();
+                loop[0].stop();
+                done.countDown();
+            }
+        }, 100, new RenderLoop.Ticker() {
+            @Override
+            public long nanoTime() {
+                return now;
+            }
+
+            @Override
+            public void parkNanos(long nanos) {
+                now += nanos;
+            }
+        });
+
+        loop[0].start();
+        assertThat(done.await(5L, TimeUnit.SECONDS)).isTrue();
+
+        // the 35 ms frame overruns the frames due at 30 and 40 ms, which are
+        // skipped; the 15 ms one is only 5 ms late, so the next one follows
+        assertThat(starts).containsExactly(0L, 10L, 20L, 55L, 60L, 75L);
+        assertThat(skipped[0]).isEqualTo(2L);
+    }
+}
@@ -0,0 +1,83 @@
+package nl.tudelft.jpacman.ui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import com.google.common.collect.Lists;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.MapParser;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifies what the {@link TerminalRenderer} writes to the terminal.
+ */
+@SuppressWarnings("magicnumber")
+class TerminalRendererTest {
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private Level level;
+    private TerminalRenderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        PacManSprites sprites = new PacManSprites();
+        MapParser parser = new MapParser(new LevelFactory(sprites, new GhostFactory(sprites)),
+            new BoardFactory(sprites));
+        level = parser.parseMap(Lists.newArrayList(
+            "######",
+            "#.0GA#",
+            "#x|t #",
+            "######"));
+        renderer = new TerminalRenderer(level, out);
+    }
+
+    /**
+     * Verifies that every square is shown as it is written in a map file.
+     */
+    @Test
+    void showsMapCharacters() {
+        String[] rows = {"######", "#.0GA#", "#x|t #", "######"};
+        for (int y = 0; y < rows.length; y++) {
+            for (int x = 0; x < rows[y].length(); x++) {
+                Square square = level.getBoard().squareAt(x, y);
+                assertThat(renderer.symbolOf(square)).isEqualTo(rows[y].charAt(x));
+            }
+        }
+    }
+
+    /**
+     * Verifies that only the squares that changed are written again.
+     *
+     * @throws IOException
+     *             when the terminal could not be written to.
+     */
+    @Test
+    void writesOnlyChanges() throws IOException {
+        renderer.renderFrame();
+        assertThat(written()).contains("\u001b[2J", "######", "#.0GA#");
+
+        renderer.renderFrame();
+        assertThat(written()).isEmpty();
+
+        Unit pellet = level.getBoard().squareAt(1, 1).getOccupants().get(0);
+        pellet.leaveSquare();
+        renderer.renderFrame();
+        assertThat(written()).isEqualTo("\u001b[2;2H ");
+    }
+
+    private String written() {
+        String text = new String(out.toByteArray(), StandardCharsets.US_ASCII);
+        out.reset();
+        return text;
+    }
+}